@@ -0,0 +1,214 @@
+package study.querydsl.codec;
+
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MemberTeamDto 목록을 위한 압축 바이너리 포맷 (서비스 간 호출용)
+ *
+ * 레이아웃
+ * - magic 'M' 'T', version
+ * - flags (bit0: 페이지 메타데이터 포함)
+ * - [page] varint number, varint size, varlong totalElements
+ * - teamName 사전: varint 개수 + 문자열 목록 (같은 팀 이름은 한 번만 전송)
+ * - varint 행 수, 각 행: null 마스크, zigzag delta memberId, username, varint age, zigzag delta teamId, 사전 인덱스
+ */
+public final class MemberTeamBinaryCodec {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-member-team";
+    public static final MediaType MEDIA_TYPE = MediaType.valueOf(MEDIA_TYPE_VALUE);
+
+    private static final byte MAGIC_0 = 'M';
+    private static final byte MAGIC_1 = 'T';
+    private static final byte VERSION = 1;
+
+    private static final int FLAG_PAGE = 1;
+
+    private static final int HAS_MEMBER_ID = 1;
+    private static final int HAS_USERNAME = 1 << 1;
+    private static final int HAS_TEAM_ID = 1 << 2;
+    private static final int HAS_TEAM_NAME = 1 << 3;
+
+    private MemberTeamBinaryCodec() {
+    }
+
+    public static byte[] encode(List<MemberTeamDto> rows) {
+        return encode(rows, null);
+    }
+
+    public static byte[] encode(Page<MemberTeamDto> page) {
+        return encode(page.getContent(), new PageInfo(page.getNumber(), page.getSize(), page.getTotalElements()));
+    }
+
+    private static byte[] encode(List<MemberTeamDto> rows, PageInfo page) {
+        Output out = new Output(16 + rows.size() * 16);
+        out.write(MAGIC_0);
+        out.write(MAGIC_1);
+        out.write(VERSION);
+        out.write(page != null ? FLAG_PAGE : 0);
+
+        if (page != null) {
+            out.writeVarLong(page.number());
+            out.writeVarLong(page.size());
+            out.writeVarLong(page.totalElements());
+        }
+
+        // 팀 이름 사전 (등장 순서대로 인덱스 부여)
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        for (MemberTeamDto row : rows) {
+            String teamName = row.getTeamName();
+            if (teamName != null && dictionary.putIfAbsent(teamName, names.size()) == null) {
+                names.add(teamName);
+            }
+        }
+        out.writeVarLong(names.size());
+        for (String name : names) {
+            out.writeString(name);
+        }
+
+        out.writeVarLong(rows.size());
+        long prevMemberId = 0;
+        long prevTeamId = 0;
+        for (MemberTeamDto row : rows) {
+            int mask = 0;
+            if (row.getMemberId() != null) mask |= HAS_MEMBER_ID;
+            if (row.getUsername() != null) mask |= HAS_USERNAME;
+            if (row.getTeamId() != null) mask |= HAS_TEAM_ID;
+            if (row.getTeamName() != null) mask |= HAS_TEAM_NAME;
+            out.write(mask);
+
+            if (row.getMemberId() != null) {
+                out.writeVarLong(zigzag(row.getMemberId() - prevMemberId));
+                prevMemberId = row.getMemberId();
+            }
+            if (row.getUsername() != null) {
+                out.writeString(row.getUsername());
+            }
+            out.writeVarLong(zigzag(row.getAge()));
+            if (row.getTeamId() != null) {
+                out.writeVarLong(zigzag(row.getTeamId() - prevTeamId));
+                prevTeamId = row.getTeamId();
+            }
+            if (row.getTeamName() != null) {
+                out.writeVarLong(dictionary.get(row.getTeamName()));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static Decoded decode(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (in.remaining() < 4 || in.get() != MAGIC_0 || in.get() != MAGIC_1) {
+            throw new IllegalArgumentException("member-team 바이너리 포맷이 아닙니다.");
+        }
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 버전입니다: " + version);
+        }
+        int flags = in.get();
+
+        PageInfo page = null;
+        if ((flags & FLAG_PAGE) != 0) {
+            page = new PageInfo((int) readVarLong(in), (int) readVarLong(in), readVarLong(in));
+        }
+
+        int dictionarySize = (int) readVarLong(in);
+        String[] names = new String[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            names[i] = readString(in);
+        }
+
+        int rowCount = (int) readVarLong(in);
+        List<MemberTeamDto> rows = new ArrayList<>(rowCount);
+        long prevMemberId = 0;
+        long prevTeamId = 0;
+        for (int i = 0; i < rowCount; i++) {
+            int mask = in.get();
+
+            Long memberId = null;
+            if ((mask & HAS_MEMBER_ID) != 0) {
+                prevMemberId += unzigzag(readVarLong(in));
+                memberId = prevMemberId;
+            }
+            String username = (mask & HAS_USERNAME) != 0 ? readString(in) : null;
+            int age = (int) unzigzag(readVarLong(in));
+            Long teamId = null;
+            if ((mask & HAS_TEAM_ID) != 0) {
+                prevTeamId += unzigzag(readVarLong(in));
+                teamId = prevTeamId;
+            }
+            String teamName = (mask & HAS_TEAM_NAME) != 0 ? names[(int) readVarLong(in)] : null;
+
+            rows.add(new MemberTeamDto(memberId, username, age, teamId, teamName));
+        }
+        return new Decoded(rows, page);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("잘못된 varint 입니다.");
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    /**
+     * page 는 List 응답(/v1/members)인 경우 null
+     */
+    public record Decoded(List<MemberTeamDto> content, PageInfo page) {
+    }
+
+    public record PageInfo(int number, int size, long totalElements) {
+    }
+
+    private static final class Output extends ByteArrayOutputStream {
+
+        Output(int size) {
+            super(size);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package study.querydsl.codec;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Accept: application/x-member-team 요청에 대해 List/Page&lt;MemberTeamDto&gt; 응답을 바이너리로 내려준다.
+ * 그 외의 타입이나 Accept 헤더는 기존 JSON 컨버터가 처리한다.
+ */
+public class MemberTeamBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public MemberTeamBinaryHttpMessageConverter() {
+        super(MemberTeamBinaryCodec.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz) || Page.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (!supports(clazz) || !canWrite(mediaType) || type == null) {
+            return false;
+        }
+        Class<?> element = ResolvableType.forType(type).getGeneric(0).resolve();
+        return element != null && MemberTeamDto.class.isAssignableFrom(element);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        byte[] bytes = body instanceof Page<?> page
+                ? MemberTeamBinaryCodec.encode((Page<MemberTeamDto>) page)
+                : MemberTeamBinaryCodec.encode((List<MemberTeamDto>) body);
+        outputMessage.getHeaders().setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("member-team 바이너리 포맷은 응답 전용입니다.", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("member-team 바이너리 포맷은 응답 전용입니다.", inputMessage);
+    }
+
+}
@@ -0,0 +1,521 @@
+package study.querydsl.columnar;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import study.querydsl.dto.MatchKeys;
+import study.querydsl.dto.MemberFacets;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 회원 데이터를 컬럼별 primitive 배열로 보관하는 메모리 저장소
+ * - 행 번호(row)는 적재 순서 (reload 시 memberId 순으로 적재)
+ * - username, team 은 사전 코드(int)로 저장하므로 문자열 비교 없이 정수 비교로 필터링
+ * - 팀 이름은 팀 코드별로 한 번만 저장 (팀 이름 변경은 사전 한 칸만 바꾸면 된다)
+ * - 삭제는 live 플래그만 내리고, 다음 reload 때 정리된다
+ * - username, 팀 이름 조건은 MySQL 기본 collation 처럼 대소문자를 무시하고 비교 (소문자로 바꾼 키의 사전 코드를 따로 저장)
+ * - 결과는 DB 검색과 같이 memberId 순 (reload 후 memberId 가 더 작은 회원이 추가되면 결과를 모은 뒤 정렬)
+ *
+ * 검색은 행 구간을 나누어 ForkJoinPool 에서 병렬로 스캔하고, 결과는 행 번호 비트맵(long[])으로 모은다.
+ * facet 개수는 팀별, 나이별 압축 비트맵(RoaringBitmap) 인덱스의 교집합 크기로 계산하며, 인덱스는 upsert/remove 때 함께 갱신한다.
+ */
+public class MemberColumnStore {
+
+    static final int NO_CODE = -1;
+
+    // 한 작업이 맡는 최소 행 수 (64 의 배수여야 비트맵 word 를 작업끼리 나눠 쓸 수 있다)
+    static final int SCAN_CHUNK = 1 << 14;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ForkJoinPool pool;
+
+    private long[] memberIds;
+    private int[] ages;
+    private int[] usernameCodes;
+    private int[] usernameKeyCodes;
+    private int[] teamCodes;
+    private boolean[] live;
+    private int size;
+    private int liveCount;
+
+    // 행 순서가 memberId 순서와 다르면 true
+    private boolean outOfOrder;
+
+    private final Map<Long, Integer> rowByMemberId = new HashMap<>();
+
+    private final Map<String, Integer> usernameDictionary = new HashMap<>();
+    private final List<String> usernames = new ArrayList<>();
+    private final Map<String, Integer> usernameKeyDictionary = new HashMap<>();
+
+    private final Map<Long, Integer> teamCodeById = new HashMap<>();
+    private long[] teamIds = new long[16];
+    private String[] teamNames = new String[16];
+    private String[] teamNameKeys = new String[16];
+    private int teamCount;
+
+    // 행 번호 비트맵 인덱스 (삭제된 행은 포함하지 않음)
+    private final RoaringBitmap liveRows = new RoaringBitmap();
+    private RoaringBitmap[] teamRows = new RoaringBitmap[16];
+    private final NavigableMap<Integer, RoaringBitmap> ageRows = new TreeMap<>();
+
+    public MemberColumnStore(ForkJoinPool pool, int initialCapacity) {
+        this.pool = pool;
+        int capacity = Math.max(64, initialCapacity);
+        memberIds = new long[capacity];
+        ages = new int[capacity];
+        usernameCodes = new int[capacity];
+        usernameKeyCodes = new int[capacity];
+        teamCodes = new int[capacity];
+        live = new boolean[capacity];
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void putTeam(long teamId, String name) {
+        lock.writeLock().lock();
+        try {
+            teamCode(teamId, name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean hasTeam(long teamId) {
+        lock.readLock().lock();
+        try {
+            return teamCodeById.containsKey(teamId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * teamId 가 null 이면 팀 없음, teamName 이 null 이면 이미 알고 있는 팀 이름을 유지
+     */
+    public void upsert(long memberId, String username, int age, Long teamId, String teamName) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByMemberId.get(memberId);
+            if (row == null) {
+                ensureCapacity(size + 1);
+                if (size > 0 && memberId < memberIds[size - 1]) {
+                    outOfOrder = true;
+                }
+                row = size++;
+                rowByMemberId.put(memberId, row);
+                memberIds[row] = memberId;
+                live[row] = true;
+                liveCount++;
+            } else {
+                unindex(row);
+            }
+            ages[row] = age;
+            usernameCodes[row] = usernameCode(username);
+            usernameKeyCodes[row] = usernameKeyCode(username);
+            teamCodes[row] = teamId == null ? NO_CODE : teamCode(teamId, teamName);
+            index(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long memberId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByMemberId.remove(memberId);
+            if (row != null && live[row]) {
+                unindex(row);
+                live[row] = false;
+                liveCount--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 연속된 행 구간을 run 으로 압축 (reload 처럼 한꺼번에 적재한 뒤 호출)
+     */
+    public void optimizeIndexes() {
+        lock.writeLock().lock();
+        try {
+            liveRows.runOptimize();
+            ageRows.values().forEach(RoaringBitmap::runOptimize);
+            for (int code = 0; code < teamCount; code++) {
+                teamRows[code].runOptimize();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        lock.readLock().lock();
+        try {
+            long[] matches = new long[wordCount(size)];
+            int total = scan(condition, matches);
+            return collect(matches, total, 0, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            long[] matches = new long[wordCount(size)];
+            int total = scan(condition, matches);
+            List<MemberTeamDto> content = collect(matches, total, pageable.getOffset(), pageable.getPageSize());
+            return new PageImpl<>(content, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public MemberFacets facets(MemberSearchCondition condition, int ageBucketSize) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap byUsername = rowsWithUsername(condition.getUsername());
+            RoaringBitmap byTeam = rowsWithTeamName(condition.getTeamName());
+            RoaringBitmap byAge = rowsWithAge(condition.getAgeGoe(), condition.getAgeLoe());
+
+            // 각 facet 은 자기 차원의 조건을 제외하고 센다
+            RoaringBitmap forTeams = RoaringBitmap.and(byUsername, byAge);
+            RoaringBitmap forAges = RoaringBitmap.and(byUsername, byTeam);
+            long total = RoaringBitmap.andCardinality(forTeams, byTeam);
+
+            List<MemberFacets.TeamCount> teams = new ArrayList<>();
+            for (int code = 0; code < teamCount; code++) {
+                int count = RoaringBitmap.andCardinality(forTeams, teamRows[code]);
+                if (count > 0) {
+                    teams.add(new MemberFacets.TeamCount(teamIds[code], teamNames[code], count));
+                }
+            }
+
+            NavigableMap<Integer, Long> buckets = new TreeMap<>();
+            for (Map.Entry<Integer, RoaringBitmap> entry : ageRows.entrySet()) {
+                int count = RoaringBitmap.andCardinality(forAges, entry.getValue());
+                if (count > 0) {
+                    buckets.merge(Math.floorDiv(entry.getKey(), ageBucketSize) * ageBucketSize, (long) count, Long::sum);
+                }
+            }
+            List<MemberFacets.AgeBucketCount> ages = new ArrayList<>(buckets.size());
+            buckets.forEach((from, count) -> ages.add(new MemberFacets.AgeBucketCount(from, from + ageBucketSize - 1, count)));
+
+            return new MemberFacets(total, teams, ages);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * username 은 대부분 행마다 달라 비트맵 인덱스를 두지 않고 코드 컬럼을 스캔한다.
+     */
+    private RoaringBitmap rowsWithUsername(String username) {
+        if (!hasText(username)) {
+            return liveRows;
+        }
+        RoaringBitmap rows = new RoaringBitmap();
+        Integer found = usernameKeyDictionary.get(key(username));
+        if (found == null) {
+            return rows;
+        }
+        int code = found;
+        for (int row = 0; row < size; row++) {
+            if (usernameKeyCodes[row] == code && live[row]) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private RoaringBitmap rowsWithTeamName(String teamName) {
+        if (!hasText(teamName)) {
+            return liveRows;
+        }
+        String key = key(teamName);
+        List<RoaringBitmap> matched = new ArrayList<>();
+        for (int code = 0; code < teamCount; code++) {
+            if (key.equals(teamNameKeys[code])) {
+                matched.add(teamRows[code]);
+            }
+        }
+        return FastAggregation.or(matched.iterator());
+    }
+
+    private RoaringBitmap rowsWithAge(Integer ageGoe, Integer ageLoe) {
+        if (ageGoe == null && ageLoe == null) {
+            return liveRows;
+        }
+        int from = ageGoe != null ? ageGoe : Integer.MIN_VALUE;
+        int to = ageLoe != null ? ageLoe : Integer.MAX_VALUE;
+        if (from > to) {
+            return new RoaringBitmap();
+        }
+        return FastAggregation.or(ageRows.subMap(from, true, to, true).values().iterator());
+    }
+
+    private void index(int row) {
+        liveRows.add(row);
+        ageRows.computeIfAbsent(ages[row], age -> new RoaringBitmap()).add(row);
+        if (teamCodes[row] != NO_CODE) {
+            teamRows[teamCodes[row]].add(row);
+        }
+    }
+
+    private void unindex(int row) {
+        liveRows.remove(row);
+        RoaringBitmap sameAge = ageRows.get(ages[row]);
+        sameAge.remove(row);
+        if (sameAge.isEmpty()) {
+            ageRows.remove(ages[row]);
+        }
+        if (teamCodes[row] != NO_CODE) {
+            teamRows[teamCodes[row]].remove(row);
+        }
+    }
+
+    /**
+     * 조건에 맞는 행을 matches 비트맵에 표시하고 개수를 반환 (읽기 락을 잡은 상태에서 호출)
+     */
+    int scan(MemberSearchCondition condition, long[] matches) {
+        int usernameCode = NO_CODE;
+        if (hasText(condition.getUsername())) {
+            Integer code = usernameKeyDictionary.get(key(condition.getUsername()));
+            if (code == null) {
+                return 0;
+            }
+            usernameCode = code;
+        }
+
+        // 팀 이름은 중복될 수 있으므로 팀 코드별 일치 여부 표 (teamCode + 1 로 조회, 0 번은 팀 없음)
+        boolean[] teamMatch = null;
+        if (hasText(condition.getTeamName())) {
+            teamMatch = new boolean[teamCount + 1];
+            String key = key(condition.getTeamName());
+            boolean any = false;
+            for (int code = 0; code < teamCount; code++) {
+                if (key.equals(teamNameKeys[code])) {
+                    teamMatch[code + 1] = true;
+                    any = true;
+                }
+            }
+            if (!any) {
+                return 0;
+            }
+        }
+
+        int ageGoe = condition.getAgeGoe() != null ? condition.getAgeGoe() : Integer.MIN_VALUE;
+        int ageLoe = condition.getAgeLoe() != null ? condition.getAgeLoe() : Integer.MAX_VALUE;
+
+        ScanTask task = new ScanTask(0, size, usernameCode, teamMatch, ageGoe, ageLoe, matches);
+        return size <= SCAN_CHUNK ? task.compute() : pool.invoke(task);
+    }
+
+    private List<MemberTeamDto> collect(long[] matches, int total, long offset, int limit) {
+        if (outOfOrder) {
+            return collectSorted(matches, total, offset, limit);
+        }
+        List<MemberTeamDto> result = new ArrayList<>(Math.min(limit, 1024));
+        long skipped = 0;
+        for (int word = 0; word < matches.length && result.size() < limit; word++) {
+            long bits = matches[word];
+            // offset 이전 word 는 개수만 세고 건너뛴다
+            if (skipped + Long.bitCount(bits) <= offset) {
+                skipped += Long.bitCount(bits);
+                continue;
+            }
+            while (bits != 0 && result.size() < limit) {
+                int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (skipped++ < offset) {
+                    continue;
+                }
+                result.add(toDto(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 행 순서가 memberId 순서와 다를 때: 일치한 행의 memberId 를 모두 모아 정렬한 뒤 구간을 자른다
+     */
+    private List<MemberTeamDto> collectSorted(long[] matches, int total, long offset, int limit) {
+        long[] ids = new long[total];
+        int n = 0;
+        for (int word = 0; word < matches.length; word++) {
+            long bits = matches[word];
+            while (bits != 0) {
+                ids[n++] = memberIds[(word << 6) + Long.numberOfTrailingZeros(bits)];
+                bits &= bits - 1;
+            }
+        }
+        Arrays.sort(ids, 0, n);
+
+        int from = (int) Math.min(offset, n);
+        int to = (int) Math.min(n, from + (long) limit);
+        List<MemberTeamDto> result = new ArrayList<>(Math.min(to - from, 1024));
+        for (int i = from; i < to; i++) {
+            result.add(toDto(rowByMemberId.get(ids[i])));
+        }
+        return result;
+    }
+
+    private MemberTeamDto toDto(int row) {
+        int usernameCode = usernameCodes[row];
+        int teamCode = teamCodes[row];
+        return new MemberTeamDto(
+                memberIds[row],
+                usernameCode == NO_CODE ? null : usernames.get(usernameCode),
+                ages[row],
+                teamCode == NO_CODE ? null : teamIds[teamCode],
+                teamCode == NO_CODE ? null : teamNames[teamCode]);
+    }
+
+    private int usernameCode(String username) {
+        if (username == null) {
+            return NO_CODE;
+        }
+        Integer code = usernameDictionary.get(username);
+        if (code == null) {
+            code = usernames.size();
+            usernames.add(username);
+            usernameDictionary.put(username, code);
+        }
+        return code;
+    }
+
+    private int usernameKeyCode(String username) {
+        if (username == null) {
+            return NO_CODE;
+        }
+        return usernameKeyDictionary.computeIfAbsent(key(username), k -> usernameKeyDictionary.size());
+    }
+
+    /**
+     * MySQL 기본 collation 처럼 대소문자, 악센트를 무시하기 위한 비교 키 (MemberRepositoryImpl.searchBatch 와 같은 규칙)
+     */
+    static String key(String value) {
+        return MatchKeys.of(value);
+    }
+
+    private int teamCode(long teamId, String name) {
+        Integer code = teamCodeById.get(teamId);
+        if (code == null) {
+            if (teamCount == teamIds.length) {
+                teamIds = Arrays.copyOf(teamIds, teamCount * 2);
+                teamNames = Arrays.copyOf(teamNames, teamCount * 2);
+                teamNameKeys = Arrays.copyOf(teamNameKeys, teamCount * 2);
+                teamRows = Arrays.copyOf(teamRows, teamCount * 2);
+            }
+            code = teamCount++;
+            teamCodeById.put(teamId, code);
+            teamIds[code] = teamId;
+            teamRows[code] = new RoaringBitmap();
+        }
+        if (name != null) {
+            teamNames[code] = name;
+            teamNameKeys[code] = key(name);
+        }
+        return code;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= memberIds.length) {
+            return;
+        }
+        int capacity = Math.max(required, memberIds.length * 2);
+        memberIds = Arrays.copyOf(memberIds, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        usernameCodes = Arrays.copyOf(usernameCodes, capacity);
+        usernameKeyCodes = Arrays.copyOf(usernameKeyCodes, capacity);
+        teamCodes = Arrays.copyOf(teamCodes, capacity);
+        live = Arrays.copyOf(live, capacity);
+    }
+
+    static int wordCount(int rows) {
+        return (rows + 63) >>> 6;
+    }
+
+    /**
+     * [from, to) 구간 스캔. 분기 없이 조건을 & 로 합쳐 JIT 가 루프를 단순하게 유지할 수 있게 한다.
+     */
+    private final class ScanTask extends RecursiveTask<Integer> {
+
+        private final int from;
+        private final int to;
+        private final int usernameCode;
+        private final boolean[] teamMatch;
+        private final int ageGoe;
+        private final int ageLoe;
+        private final long[] matches;
+
+        ScanTask(int from, int to, int usernameCode, boolean[] teamMatch, int ageGoe, int ageLoe, long[] matches) {
+            this.from = from;
+            this.to = to;
+            this.usernameCode = usernameCode;
+            this.teamMatch = teamMatch;
+            this.ageGoe = ageGoe;
+            this.ageLoe = ageLoe;
+            this.matches = matches;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from > SCAN_CHUNK) {
+                int half = ((to - from) >>> 1) & ~(SCAN_CHUNK - 1);
+                int mid = from + Math.max(SCAN_CHUNK, half);
+                ScanTask left = new ScanTask(from, mid, usernameCode, teamMatch, ageGoe, ageLoe, matches);
+                ScanTask right = new ScanTask(mid, to, usernameCode, teamMatch, ageGoe, ageLoe, matches);
+                left.fork();
+                int rightCount = right.compute();
+                return left.join() + rightCount;
+            }
+
+            final int[] ages = MemberColumnStore.this.ages;
+            final int[] usernameKeyCodes = MemberColumnStore.this.usernameKeyCodes;
+            final int[] teamCodes = MemberColumnStore.this.teamCodes;
+            final boolean[] live = MemberColumnStore.this.live;
+            final boolean anyUsername = usernameCode == NO_CODE;
+            final boolean anyTeam = teamMatch == null;
+
+            int count = 0;
+            for (int row = from; row < to; row++) {
+                int age = ages[row];
+                boolean match = live[row]
+                        & age >= ageGoe
+                        & age <= ageLoe
+                        & (anyUsername | usernameKeyCodes[row] == usernameCode)
+                        & (anyTeam || teamMatch[teamCodes[row] + 1]);
+                long bit = match ? 1L : 0L;
+                matches[row >>> 6] |= bit << row;
+                count += (int) bit;
+            }
+            return count;
+        }
+    }
+
+}
@@ -0,0 +1,278 @@
+package study.querydsl.columnar;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberFacets;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.version.DataVersion;
+import study.querydsl.version.RemoteDataChangedEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 메모리 컬럼 저장소(MemberColumnStore)로 회원 검색, facet 계산 (member.columnar.enabled=true 일 때만 등록)
+ * - 엔티티 변경은 MemberColumnarListener 가 커밋 후에 반영
+ * - bulk 연산은 어떤 행이 바뀌었는지 알 수 없으므로 DataVersion.bulkVersion 이 바뀌면 stale 로 보고 다음 reconcile 까지 DB 로 조회
+ * - 다른 노드의 변경(RemoteDataChangedEvent), id 를 알고 있는 bulk 변경은 바뀐 회원, 팀만 DB 에서 다시 읽어서 반영
+ * - 주기적으로 DB 에서 전체를 다시 읽어 새 저장소로 교체 (누락된 변경, 삭제된 행 정리)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "member.columnar.enabled", havingValue = "true")
+public class MemberColumnarEngine {
+
+    // 바뀐 회원, 팀을 다시 읽을 때 IN 절 하나에 넣는 최대 id 개수
+    static final int RELOAD_FETCH_SIZE = 500;
+
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate readOnlyTx;
+    private final DataVersion dataVersion;
+
+    @Value("${member.columnar.max-staleness-ms:180000}")
+    private long maxStalenessMillis;
+
+    @Value("${member.export.fetch-size:1000}")
+    private int fetchSize;
+
+    private volatile MemberColumnStore store;
+    private volatile long loadedAt;
+    private volatile long syncedBulkVersion;
+    private volatile boolean missedChange;
+
+    // reload 중에 들어온 변경은 새 저장소에도 다시 적용
+    private List<Consumer<MemberColumnStore>> pending;
+
+    public MemberColumnarEngine(JPAQueryFactory queryFactory, PlatformTransactionManager transactionManager,
+                                DataVersion dataVersion) {
+        this.queryFactory = queryFactory;
+        this.dataVersion = dataVersion;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * false 면 호출하는 쪽에서 DB 로 조회해야 한다.
+     */
+    public boolean isFresh() {
+        return store != null
+                && !missedChange
+                && syncedBulkVersion == dataVersion.bulkVersion()
+                && System.currentTimeMillis() - loadedAt <= maxStalenessMillis;
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return store.search(condition);
+    }
+
+    public Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable) {
+        return store.searchPage(condition, pageable);
+    }
+
+    public MemberFacets facets(MemberSearchCondition condition, int ageBucketSize) {
+        return store.facets(condition, ageBucketSize);
+    }
+
+    @Scheduled(fixedDelayString = "${member.columnar.reconcile-ms:60000}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        // DB 를 읽기 전의 값을 기록해야 읽는 도중의 bulk 연산이 다음 isFresh() 에서 감지된다
+        long bulkVersion = dataVersion.bulkVersion();
+        synchronized (this) {
+            pending = new ArrayList<>();
+            missedChange = false;
+        }
+
+        MemberColumnStore loaded;
+        try {
+            loaded = readOnlyTx.execute(status -> load());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            log.warn("columnar store reload failed. searches fall back to database.", e);
+            return;
+        }
+
+        synchronized (this) {
+            pending.forEach(change -> change.accept(loaded));
+            pending = null;
+            store = loaded;
+            loadedAt = start;
+            syncedBulkVersion = bulkVersion;
+        }
+        log.info("columnar store reloaded. rows={}, {}ms", loaded.size(), System.currentTimeMillis() - start);
+    }
+
+    private MemberColumnStore load() {
+        MemberColumnStore loaded = new MemberColumnStore(ForkJoinPool.commonPool(),
+                queryFactory.select(member.count()).from(member).fetchOne().intValue());
+
+        // 회원이 없는 팀도 이후 회원 변경 이벤트에서 찾을 수 있도록 먼저 적재
+        for (Tuple row : queryFactory.select(team.id, team.name).from(team).fetch()) {
+            loaded.putTeam(row.get(team.id), row.get(team.name));
+        }
+
+        try (Stream<MemberTeamDto> rows = queryFactory
+                .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .orderBy(member.id.asc())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .stream()) {
+            rows.forEach(row -> loaded.upsert(row.getMemberId(), row.getUsername(), row.getAge(),
+                    row.getTeamId(), row.getTeamName()));
+        }
+        loaded.optimizeIndexes();
+        return loaded;
+    }
+
+    /**
+     * bulk 변경은 DataVersion.bulkVersion 으로 stale 처리되므로 id 가 있는 변경만 반영
+     */
+    @EventListener
+    public void remoteChanged(RemoteDataChangedEvent event) {
+        List<Long> memberIds = new ArrayList<>(event.ids(Member.class));
+        List<Long> teamIds = new ArrayList<>(event.ids(Team.class));
+        if (store == null || (memberIds.isEmpty() && teamIds.isEmpty())) {
+            return;
+        }
+
+        List<Tuple> teams = new ArrayList<>();
+        List<MemberTeamDto> members = new ArrayList<>();
+        try {
+            readOnlyTx.executeWithoutResult(status -> {
+                for (List<Long> chunk : chunks(teamIds)) {
+                    teams.addAll(queryFactory.select(team.id, team.name).from(team).where(team.id.in(chunk)).fetch());
+                }
+                members.addAll(fetchMembers(memberIds));
+            });
+        } catch (RuntimeException e) {
+            // 반영하지 못한 변경이 있으므로 다음 reconcile 까지 DB 사용
+            missedChange = true;
+            log.warn("failed to apply remote changes to columnar store.", e);
+            return;
+        }
+
+        apply(store -> {
+            teams.forEach(row -> store.putTeam(row.get(team.id), row.get(team.name)));
+            applyMembers(store, memberIds, members);
+        });
+    }
+
+    /**
+     * id 를 알고 있는 bulk 변경 (MemberBulkRepository)
+     * 호출한 트랜잭션 안에서 바뀐 행을 다시 읽어두고 커밋된 뒤에 반영
+     */
+    public void membersChanged(Collection<Long> memberIds) {
+        if (store == null || memberIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(memberIds);
+        List<MemberTeamDto> rows = fetchMembers(ids);
+        afterCommit(store -> applyMembers(store, ids, rows));
+    }
+
+    private List<MemberTeamDto> fetchMembers(List<Long> memberIds) {
+        List<MemberTeamDto> members = new ArrayList<>();
+        for (List<Long> chunk : chunks(memberIds)) {
+            members.addAll(queryFactory
+                    .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                    .from(member)
+                    .leftJoin(member.team, team)
+                    .where(member.id.in(chunk))
+                    .fetch());
+        }
+        return members;
+    }
+
+    /**
+     * 다시 읽은 행으로 갱신하고, 조회되지 않은 회원은 삭제된 것으로 처리
+     */
+    private static void applyMembers(MemberColumnStore store, List<Long> memberIds, List<MemberTeamDto> rows) {
+        Set<Long> removed = new HashSet<>(memberIds);
+        for (MemberTeamDto row : rows) {
+            removed.remove(row.getMemberId());
+            store.upsert(row.getMemberId(), row.getUsername(), row.getAge(), row.getTeamId(), row.getTeamName());
+        }
+        removed.forEach(store::remove);
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += RELOAD_FETCH_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + RELOAD_FETCH_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    void memberSaved(long memberId, String username, int age, Long teamId) {
+        afterCommit(store -> {
+            if (teamId != null && !store.hasTeam(teamId)) {
+                // 팀 이름을 모르는 상태로 넣으면 팀 이름 검색 결과가 달라지므로 다음 reconcile 까지 DB 사용
+                missedChange = true;
+            }
+            store.upsert(memberId, username, age, teamId, null);
+        });
+    }
+
+    void memberRemoved(long memberId) {
+        afterCommit(store -> store.remove(memberId));
+    }
+
+    void teamSaved(long teamId, String name) {
+        afterCommit(store -> store.putTeam(teamId, name));
+    }
+
+    /**
+     * 롤백된 변경이 보이지 않도록 커밋된 뒤에만 반영
+     */
+    private void afterCommit(Consumer<MemberColumnStore> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private synchronized void apply(Consumer<MemberColumnStore> change) {
+        if (pending != null) {
+            pending.add(change);
+        }
+        if (store != null) {
+            change.accept(store);
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package study.querydsl.columnar;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+/**
+ * Member, Team 변경을 MemberColumnarEngine 에 전달 (엔진이 등록되지 않았으면 아무것도 하지 않음)
+ */
+public class MemberColumnarListener {
+
+    private final ObjectProvider<MemberColumnarEngine> engine;
+
+    public MemberColumnarListener(ObjectProvider<MemberColumnarEngine> engine) {
+        this.engine = engine;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Object entity) {
+        engine.ifAvailable(columnar -> {
+            if (entity instanceof Member m) {
+                // 프록시의 getId() 는 초기화 없이 식별자를 반환
+                columnar.memberSaved(m.getId(), m.getUsername(), m.getAge(), m.getTeam() != null ? m.getTeam().getId() : null);
+            } else if (entity instanceof Team t) {
+                columnar.teamSaved(t.getId(), t.getName());
+            }
+        });
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        if (entity instanceof Member m) {
+            engine.ifAvailable(columnar -> columnar.memberRemoved(m.getId()));
+        }
+    }
+
+}
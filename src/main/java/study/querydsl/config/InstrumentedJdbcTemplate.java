@@ -0,0 +1,43 @@
+package study.querydsl.config;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.lang.Nullable;
+import study.querydsl.deadline.Deadline;
+import study.querydsl.jfr.JdbcTiming;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 애플리케이션에서 사용하는 JdbcTemplate (InstrumentedQueryFactory 의 JDBC 버전)
+ * - 요청 처리 기한(Deadline)의 남은 시간을 쿼리 타임아웃으로 적용
+ * - 조회 실행 시간(결과를 읽기 전까지)을 JdbcTiming 에 더해서 JFR 이벤트의 SQL 시간에 포함
+ */
+public class InstrumentedJdbcTemplate extends JdbcTemplate {
+
+    public InstrumentedJdbcTemplate(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    protected void applyStatementSettings(Statement stmt) throws SQLException {
+        super.applyStatementSettings(stmt);
+        Deadline.applyTo(stmt);
+    }
+
+    @Override
+    public <T> T query(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss, ResultSetExtractor<T> rse)
+            throws DataAccessException {
+        long start = System.nanoTime();
+        return super.query(psc, pss, rs -> {
+            JdbcTiming.addExecuteNanos(System.nanoTime() - start);
+            return rse.extractData(rs);
+        });
+    }
+
+}
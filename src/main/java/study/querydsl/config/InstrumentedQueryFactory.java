@@ -0,0 +1,104 @@
+package study.querydsl.config;
+
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.jpa.impl.JPADeleteClause;
+import com.querydsl.jpa.impl.JPAInsertClause;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.ObjectProvider;
+import study.querydsl.deadline.Deadline;
+import study.querydsl.jfr.MemberBulkEvent;
+import study.querydsl.version.ChangeVersionRecorder;
+import study.querydsl.version.DataVersion;
+
+/**
+ * 애플리케이션에서 사용하는 JPAQueryFactory
+ * - 조회 쿼리: 요청 처리 기한(Deadline)의 남은 시간을 쿼리 타임아웃으로 적용
+ * - bulk 연산(update, delete, insert): 엔티티 리스너를 거치지 않으므로 execute() 시점에 DataVersion 을 증가,
+ *   change_version 기록(member.coherence.enabled=true), JFR 이벤트 기록
+ */
+public class InstrumentedQueryFactory extends JPAQueryFactory {
+
+    private final EntityManager em;
+    private final DataVersion dataVersion;
+    private final ObjectProvider<ChangeVersionRecorder> changeVersionRecorder;
+
+    public InstrumentedQueryFactory(EntityManager em, DataVersion dataVersion,
+                                    ObjectProvider<ChangeVersionRecorder> changeVersionRecorder) {
+        super(em);
+        this.em = em;
+        this.dataVersion = dataVersion;
+        this.changeVersionRecorder = changeVersionRecorder;
+    }
+
+    @Override
+    public JPAQuery<?> query() {
+        return new JPAQuery<Void>(em) {
+            @Override
+            protected Query createQuery(QueryModifiers modifiers, boolean forCount) {
+                return Deadline.applyTo(super.createQuery(modifiers, forCount));
+            }
+        };
+    }
+
+    @Override
+    public JPAUpdateClause update(EntityPath<?> path) {
+        return new JPAUpdateClause(em, path) {
+            @Override
+            public long execute() {
+                MemberBulkEvent event = new MemberBulkEvent("update", path.getType().getSimpleName());
+                event.begin();
+                long count = super.execute();
+                event.finish(count);
+                if (count > 0) {
+                    bulkChanged(path);
+                }
+                return count;
+            }
+        };
+    }
+
+    @Override
+    public JPADeleteClause delete(EntityPath<?> path) {
+        return new JPADeleteClause(em, path) {
+            @Override
+            public long execute() {
+                MemberBulkEvent event = new MemberBulkEvent("delete", path.getType().getSimpleName());
+                event.begin();
+                long count = super.execute();
+                event.finish(count);
+                if (count > 0) {
+                    bulkChanged(path);
+                }
+                return count;
+            }
+        };
+    }
+
+    @Override
+    public JPAInsertClause insert(EntityPath<?> path) {
+        return new JPAInsertClause(em, path) {
+            @Override
+            public long execute() {
+                MemberBulkEvent event = new MemberBulkEvent("insert", path.getType().getSimpleName());
+                event.begin();
+                long count = super.execute();
+                event.finish(count);
+                if (count > 0) {
+                    bulkChanged(path);
+                }
+                return count;
+            }
+        };
+    }
+
+    private void bulkChanged(EntityPath<?> path) {
+        dataVersion.markBulkChanged();
+        changeVersionRecorder.ifAvailable(recorder -> recorder.bulkChanged(path.getType()));
+    }
+
+}
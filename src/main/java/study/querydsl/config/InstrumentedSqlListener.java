@@ -0,0 +1,41 @@
+package study.querydsl.config;
+
+import com.querydsl.sql.SQLBaseListener;
+import com.querydsl.sql.SQLListenerContext;
+import study.querydsl.deadline.Deadline;
+import study.querydsl.jfr.JdbcTiming;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * QueryDSL SQL 용 (InstrumentedQueryFactory, InstrumentedJdbcTemplate 과 같은 역할)
+ * - 요청 처리 기한(Deadline)의 남은 시간을 쿼리 타임아웃으로 적용
+ * - 실행 시간을 JdbcTiming 에 더해서 JFR 이벤트의 SQL 시간에 포함
+ */
+public class InstrumentedSqlListener extends SQLBaseListener {
+
+    private static final String START = InstrumentedSqlListener.class.getName() + ".start";
+
+    @Override
+    public void preExecute(SQLListenerContext context) {
+        PreparedStatement statement = context.getPreparedStatement();
+        if (statement != null) {
+            try {
+                Deadline.applyTo(statement);
+            } catch (SQLException e) {
+                throw context.getConfiguration().translate(e);
+            }
+        }
+        context.setData(START, System.nanoTime());
+    }
+
+    @Override
+    public void executed(SQLListenerContext context) {
+        Object start = context.getData(START);
+        if (start != null) {
+            JdbcTiming.addExecuteNanos(System.nanoTime() - (Long) start);
+        }
+    }
+
+}
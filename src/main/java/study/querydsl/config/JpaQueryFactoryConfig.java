@@ -2,15 +2,19 @@ package study.querydsl.config;
 
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import study.querydsl.version.ChangeVersionRecorder;
+import study.querydsl.version.DataVersion;
 
 @Configuration
 public class JpaQueryFactoryConfig {
 
     @Bean
-    JPAQueryFactory jpaQueryFactory(EntityManager em) {
-        return new JPAQueryFactory(em);
+    JPAQueryFactory jpaQueryFactory(EntityManager em, DataVersion dataVersion,
+                                    ObjectProvider<ChangeVersionRecorder> changeVersionRecorder) {
+        return new InstrumentedQueryFactory(em, dataVersion, changeVersionRecorder);
     }
 
 }
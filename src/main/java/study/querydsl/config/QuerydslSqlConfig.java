@@ -0,0 +1,55 @@
+package study.querydsl.config;
+
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.MySQLTemplates;
+import com.querydsl.sql.SQLExceptionTranslator;
+import com.querydsl.sql.SQLQueryFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 회원 검색 SQL 경로용 SQLQueryFactory (MemberSqlRepository)
+ * JPA 와 같은 DataSource 를 TransactionAwareDataSourceProxy 로 감싸서 트랜잭션 안에서는 같은 커넥션을 사용한다.
+ */
+@org.springframework.context.annotation.Configuration
+public class QuerydslSqlConfig {
+
+    @Bean
+    SQLQueryFactory sqlQueryFactory(DataSource dataSource) {
+        Configuration configuration = new Configuration(MySQLTemplates.builder().build());
+        configuration.addListener(new InstrumentedSqlListener());
+        configuration.setExceptionTranslator(new SpringExceptionTranslator(dataSource));
+        // release=true: 쿼리가 끝나면 커넥션을 닫는다 (트랜잭션 안이면 프록시가 닫지 않고 유지)
+        return new SQLQueryFactory(configuration, new TransactionAwareDataSourceProxy(dataSource), true);
+    }
+
+    /**
+     * 스프링 DataAccessException 으로 변환 (Deadline 초과 시 QueryTimeoutException 등 JPA 경로와 같은 예외)
+     */
+    static class SpringExceptionTranslator implements SQLExceptionTranslator {
+
+        private final org.springframework.jdbc.support.SQLExceptionTranslator translator;
+
+        SpringExceptionTranslator(DataSource dataSource) {
+            this.translator = new SQLErrorCodeSQLExceptionTranslator(dataSource);
+        }
+
+        @Override
+        public RuntimeException translate(String sql, List<Object> bindings, SQLException e) {
+            RuntimeException translated = translator.translate("querydsl-sql", sql, e);
+            return translated != null ? translated : new org.springframework.jdbc.UncategorizedSQLException("querydsl-sql", sql, e);
+        }
+
+        @Override
+        public RuntimeException translate(SQLException e) {
+            return translate(null, List.of(), e);
+        }
+
+    }
+
+}
@@ -0,0 +1,32 @@
+package study.querydsl.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.querydsl.codec.MemberTeamBinaryHttpMessageConverter;
+import study.querydsl.controller.SearchAdmissionInterceptor;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final SearchAdmissionInterceptor searchAdmissionInterceptor;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // 맨 뒤에 추가해야 Accept 헤더가 없거나 */* 인 요청은 기존처럼 JSON 으로 응답
+        converters.add(new MemberTeamBinaryHttpMessageConverter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(searchAdmissionInterceptor)
+                .addPathPatterns("/v1/members", "/v2/members", "/v1/members/search-batch",
+                        "/members/facets", "/teams/top-members");
+    }
+
+}
@@ -1,15 +1,19 @@
 package study.querydsl.controller;
 
-import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
 
+@Slf4j
 @Profile("local")
 @Component
 @RequiredArgsConstructor
@@ -17,9 +21,13 @@ public class InitMember {
 
     private final InitMemberService initMemberService;
 
-    @PostConstruct
+    // 기동 경로(@PostConstruct)에서 빼서, 준비 완료 후 별도 스레드에서 데이터 생성
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
     public void init() {
+        long start = System.currentTimeMillis();
         initMemberService.init();
+        log.info("local sample data initialized. {}ms", System.currentTimeMillis() - start);
     }
 
     @Component
@@ -41,4 +49,4 @@ public class InitMember {
         }
     }
     
-}
\ No newline at end of file
+}
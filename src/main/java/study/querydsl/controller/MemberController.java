@@ -1,16 +1,30 @@
 package study.querydsl.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import study.querydsl.facet.MemberFacetService;
+import study.querydsl.dto.MemberFacets;
 import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchResult;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.repository.MemberJpaRepository;
 import study.querydsl.repository.MemberRepository;
+import study.querydsl.version.DataVersion;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
 
 @RestController
 @RequiredArgsConstructor
@@ -18,15 +32,66 @@ public class MemberController {
 
     private final MemberJpaRepository memberJpaRepository;
     private final MemberRepository memberRepository;
+    private final ObjectProvider<MemberFacetService> memberFacetService;
+    private final DataVersion dataVersion;
+    private final SearchDeadline searchDeadline;
+
+    @Value("${member.search.batch.max-conditions:100}")
+    private int maxBatchConditions;
 
     @GetMapping("/v1/members")
-    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
-        return memberJpaRepository.search(condition);
+    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition, WebRequest request) {
+        // 데이터 버전과 검색 조건이 같으면 DB 조회 없이 304 응답 (Last-Modified 는 초 단위라 같은 초의 변경을 놓치므로 ETag 만 사용)
+        if (request.checkNotModified(eTag(condition, null, request))) {
+            return null;
+        }
+        return searchDeadline.run(condition.shape(), request, () -> memberJpaRepository.search(condition));
     }
 
     @GetMapping("/v2/members")
-    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
-        return memberRepository.searchPage(condition, pageable);
+    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable, WebRequest request) {
+        if (request.checkNotModified(eTag(condition, pageable, request))) {
+            return null;
+        }
+        return searchDeadline.run(condition.shape(), request, () -> memberRepository.searchPage(condition, pageable));
+    }
+
+    /**
+     * 여러 검색 조건을 한 번에 실행 (응답은 요청한 조건 순서대로)
+     */
+    @PostMapping("/v1/members/search-batch")
+    public List<MemberSearchResult> searchMembersBatch(@RequestBody List<MemberSearchCondition> conditions, WebRequest request) {
+        if (conditions.size() > maxBatchConditions) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "한 번에 검색할 수 있는 조건은 " + maxBatchConditions + "개까지입니다.");
+        }
+        Map<MemberSearchCondition, List<MemberTeamDto>> results =
+                searchDeadline.run("batch", request, () -> memberRepository.searchAll(conditions));
+        return conditions.stream()
+                .map(condition -> new MemberSearchResult(condition, results.get(condition.normalize())))
+                .toList();
+    }
+
+    /**
+     * 메모리 컬럼 저장소(member.columnar.enabled=true)가 있을 때만 제공
+     */
+    @GetMapping("/members/facets")
+    public MemberFacets facets(MemberSearchCondition condition, WebRequest request) {
+        MemberFacetService facetService = memberFacetService.getIfAvailable();
+        if (facetService == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "facet 검색은 member.columnar.enabled=true 일 때만 제공합니다.");
+        }
+        if (request.checkNotModified(eTag(condition, null, request))) {
+            return null;
+        }
+        return searchDeadline.run(condition.shape(), request, () -> facetService.facets(condition));
+    }
+
+    private String eTag(MemberSearchCondition condition, Pageable pageable, WebRequest request) {
+        // JSON, 바이너리 응답은 표현이 다르므로 Accept 헤더도 ETag 에 포함
+        CRC32 crc = new CRC32();
+        crc.update((condition + "|" + pageable + "|" + request.getHeader("Accept")).getBytes(StandardCharsets.UTF_8));
+        return dataVersion.current() + "-" + Long.toHexString(crc.getValue());
     }
 
 }
@@ -0,0 +1,63 @@
+package study.querydsl.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.snapshot.MemberSnapshotService;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@RestController
+@RequiredArgsConstructor
+public class MemberSnapshotController {
+
+    private final MemberSnapshotService memberSnapshotService;
+
+    @PostMapping("/members/snapshot")
+    public String refreshSnapshot() throws IOException {
+        return memberSnapshotService.refresh().toString();
+    }
+
+    /**
+     * zero-copy 는 Tomcat sendfile 경로뿐이다: 커널이 파일을 소켓으로 바로 보낸다.
+     * sendfile 을 쓸 수 없으면(다른 컨테이너, 비활성화, 압축 등) 응답 스트림은 소켓이 아니므로
+     * 파일을 힙 버퍼로 읽어서 복사하는 일반 전송이 된다. (FileSystemResource 로 반환해도 Spring MVC 는 같은 방식으로 복사)
+     */
+    @GetMapping("/members/snapshot")
+    public void downloadSnapshot(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // 버전별 파일은 내용이 바뀌지 않으므로 Tomcat 이 이름으로 다시 열어도 size 와 같은 내용이다
+        Path file = memberSnapshotService.getSnapshotFile();
+        if (file == null || !Files.exists(file)) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader("Content-Disposition", "attachment; filename=\"members.snap\"");
+            response.setContentLengthLong(size);
+
+            if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+                request.setAttribute("org.apache.tomcat.sendfile.filename", file.toString());
+                request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+                request.setAttribute("org.apache.tomcat.sendfile.end", size);
+                return;
+            }
+
+            // 일반 전송 (zero-copy 아님). 이미 연 channel 로 읽으므로 그 사이 retention 으로 파일이 지워져도 끝까지 보낸다
+            Channels.newInputStream(channel).transferTo(response.getOutputStream());
+        }
+    }
+
+}
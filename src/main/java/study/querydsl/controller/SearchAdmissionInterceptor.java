@@ -0,0 +1,75 @@
+package study.querydsl.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 회원 검색 API 앞단의 admission control
+ * username/teamName 동등 조건이 있는 검색(cheap)과 나이 범위만 있는 검색(expensive)의 한도를 따로 관리해서
+ * 무거운 검색이 몰려도 가벼운 검색까지 커넥션 풀에서 밀리지 않도록 한다.
+ * facet 집계, 팀별 순위처럼 조건과 관계없이 넓은 범위를 읽는 API 는 항상 expensive 로 본다.
+ */
+@Slf4j
+@Component
+public class SearchAdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String LIMITER = SearchAdmissionInterceptor.class.getName() + ".limiter";
+    private static final String START = SearchAdmissionInterceptor.class.getName() + ".start";
+
+    static final Set<String> ALWAYS_EXPENSIVE = Set.of("/members/facets", "/teams/top-members");
+
+    private final AdaptiveConcurrencyLimiter cheapLimiter;
+    private final AdaptiveConcurrencyLimiter expensiveLimiter;
+
+    public SearchAdmissionInterceptor(
+            @Value("${member.search.limit.cheap.max:20}") int cheapMax,
+            @Value("${member.search.limit.cheap.latency-ms:200}") long cheapLatency,
+            @Value("${member.search.limit.expensive.max:5}") int expensiveMax,
+            @Value("${member.search.limit.expensive.latency-ms:1000}") long expensiveLatency) {
+        this.cheapLimiter = new AdaptiveConcurrencyLimiter("cheap", Math.max(1, cheapMax / 2), 1, cheapMax, cheapLatency, 0.9);
+        this.expensiveLimiter = new AdaptiveConcurrencyLimiter("expensive", Math.max(1, expensiveMax / 2), 1, expensiveMax, expensiveLatency, 0.9);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        AdaptiveConcurrencyLimiter limiter = isSelective(request) ? cheapLimiter : expensiveLimiter;
+        if (!limiter.tryAcquire()) {
+            log.debug("search rejected. limiter={}, limit={}", limiter.getName(), limiter.getLimit());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return false;
+        }
+        request.setAttribute(LIMITER, limiter);
+        request.setAttribute(START, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        AdaptiveConcurrencyLimiter limiter = (AdaptiveConcurrencyLimiter) request.getAttribute(LIMITER);
+        if (limiter == null) {
+            return;
+        }
+        request.removeAttribute(LIMITER);
+        long latency = System.nanoTime() - (long) request.getAttribute(START);
+        limiter.release(latency, ex == null && response.getStatus() < 500);
+    }
+
+    private boolean isSelective(HttpServletRequest request) {
+        if (ALWAYS_EXPENSIVE.contains(request.getRequestURI().substring(request.getContextPath().length()))) {
+            return false;
+        }
+        return hasText(request.getParameter("username")) || hasText(request.getParameter("teamName"));
+    }
+
+}
@@ -0,0 +1,62 @@
+package study.querydsl.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+import study.querydsl.deadline.Deadline;
+import study.querydsl.deadline.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 검색 API 의 요청 처리 기한
+ * - 기본 기한(member.search.deadline-ms)과 클라이언트가 알려준 타임아웃 중 짧은 쪽으로 실행
+ * - 기한을 넘기면 shape 별 member.search.timeout 지표를 남기고 DeadlineExceededException (504)
+ */
+@Component
+public class SearchDeadline {
+
+    // 클라이언트가 자신의 타임아웃을 알려주면 그보다 오래 DB 를 붙잡고 있지 않도록 기한을 줄인다
+    static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private final MeterRegistry meterRegistry;
+    private final long searchDeadlineMillis;
+
+    public SearchDeadline(MeterRegistry meterRegistry,
+                          @Value("${member.search.deadline-ms:3000}") long searchDeadlineMillis) {
+        this.meterRegistry = meterRegistry;
+        this.searchDeadlineMillis = searchDeadlineMillis;
+    }
+
+    public <T> T run(String shape, WebRequest request, Supplier<T> search) {
+        Deadline deadline = Deadline.after(Duration.ofMillis(budgetMillis(request)));
+        try {
+            return deadline.run(search);
+        } catch (DeadlineExceededException e) {
+            recordTimeout(shape);
+            throw e;
+        } catch (org.springframework.dao.QueryTimeoutException | jakarta.persistence.QueryTimeoutException e) {
+            recordTimeout(shape);
+            throw new DeadlineExceededException("검색이 처리 기한 안에 끝나지 않았습니다.", e);
+        }
+    }
+
+    private long budgetMillis(WebRequest request) {
+        String clientTimeout = request.getHeader(TIMEOUT_HEADER);
+        if (clientTimeout != null) {
+            try {
+                return Math.max(1, Math.min(searchDeadlineMillis, Long.parseLong(clientTimeout.trim())));
+            } catch (NumberFormatException ignored) {
+                // 잘못된 값이면 기본 기한 사용
+            }
+        }
+        return searchDeadlineMillis;
+    }
+
+    private void recordTimeout(String shape) {
+        meterRegistry.counter("member.search.timeout", "shape", shape).increment();
+    }
+
+}
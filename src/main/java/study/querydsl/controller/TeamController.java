@@ -0,0 +1,36 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import study.querydsl.dto.TeamTopMemberDto;
+import study.querydsl.repository.TeamTopMemberRepository;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+
+    static final int MAX_PER_TEAM = 100;
+
+    private final TeamTopMemberRepository teamTopMemberRepository;
+    private final SearchDeadline searchDeadline;
+
+    /**
+     * 팀별 나이 상위 perTeam 명과 팀 평균 나이
+     */
+    @GetMapping("/teams/top-members")
+    public List<TeamTopMemberDto> topMembers(@RequestParam(defaultValue = "3") int perTeam, WebRequest request) {
+        if (perTeam < 1 || perTeam > MAX_PER_TEAM) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "perTeam 은 1 이상 " + MAX_PER_TEAM + " 이하여야 합니다.");
+        }
+        return searchDeadline.run("topMembers", request, () -> teamTopMemberRepository.findTopMembers(perTeam));
+    }
+
+}
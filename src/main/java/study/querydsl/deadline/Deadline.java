@@ -0,0 +1,89 @@
+package study.querydsl.deadline;
+
+import jakarta.persistence.Query;
+import org.hibernate.jpa.HibernateHints;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 요청 단위의 처리 기한
+ * 컨트롤러에서 run() 으로 감싸면 그 안에서 실행되는 모든 쿼리에 남은 시간이 쿼리 타임아웃으로 적용된다.
+ * 타임아웃이 되면 JDBC 드라이버가 실행 중인 statement 를 취소한다.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public static Optional<Deadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * 현재 기한이 있으면 남은 시간을 쿼리 타임아웃 힌트로 설정, 이미 지났으면 쿼리를 실행하지 않고 예외
+     */
+    public static <Q extends Query> Q applyTo(Q query) {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null) {
+            query.setHint(HibernateHints.HINT_TIMEOUT, deadline.queryTimeoutSeconds());
+        }
+        return query;
+    }
+
+    /**
+     * JDBC 로 직접 실행하는 statement 용 (JdbcTemplate)
+     */
+    public static void applyTo(Statement statement) throws SQLException {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null) {
+            statement.setQueryTimeout(deadline.queryTimeoutSeconds());
+        }
+    }
+
+    public <T> T run(Supplier<T> task) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public long remainingMillis() {
+        return Duration.ofNanos(expiresAtNanos - System.nanoTime()).toMillis();
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * JDBC 쿼리 타임아웃은 초 단위라서 올림 (0 은 타임아웃 없음을 의미하므로 최소 1초)
+     */
+    int queryTimeoutSeconds() {
+        long remainingNanos = expiresAtNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            throw new DeadlineExceededException("쿼리 실행 전에 요청 처리 기한이 지났습니다.");
+        }
+        return (int) Math.max(1, (remainingNanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+}
@@ -0,0 +1,32 @@
+package study.querydsl.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Collator;
+import java.util.Locale;
+
+/**
+ * DB 의 문자열 비교 규칙 (MySQL 기본 collation utf8mb4_0900_ai_ci) 을 메모리에서 흉내내기 위한 비교 키
+ * - 대소문자와 악센트를 무시 (Collator PRIMARY 강도): "José", "JOSE", "jose" 는 같은 키
+ * - DB 결과를 조건별로 나누거나 메모리 인덱스에서 찾을 때 같은 키를 쓴다.
+ */
+public final class MatchKeys {
+
+    // Collator 는 스레드 안전하지 않으므로 스레드마다 하나씩
+    private static final ThreadLocal<Collator> COLLATOR = ThreadLocal.withInitial(() -> {
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+        return collator;
+    });
+
+    private MatchKeys() {
+    }
+
+    /**
+     * 같게 비교되는 문자열끼리 equals 인 키 (HashMap 키로 사용)
+     */
+    public static String of(String value) {
+        byte[] key = COLLATOR.get().getCollationKey(value).toByteArray();
+        return new String(key, StandardCharsets.ISO_8859_1);
+    }
+
+}
@@ -0,0 +1,41 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 검색 조건별 facet 개수
+ * - teams: 팀 조건을 제외한 나머지 조건으로 센 팀별 회원 수 (다른 팀을 골랐을 때의 개수를 보여주기 위함)
+ * - ages: 나이 조건을 제외한 나머지 조건으로 센 나이 구간별 회원 수
+ * - total: 모든 조건을 적용한 회원 수
+ */
+@Data
+@AllArgsConstructor
+public class MemberFacets {
+
+    private long total;
+    private List<TeamCount> teams;
+    private List<AgeBucketCount> ages;
+
+    @Data
+    @AllArgsConstructor
+    public static class TeamCount {
+        private Long teamId;
+        private String teamName;
+        private long count;
+    }
+
+    /**
+     * ageFrom 이상 ageTo 이하
+     */
+    @Data
+    @AllArgsConstructor
+    public static class AgeBucketCount {
+        private int ageFrom;
+        private int ageTo;
+        private long count;
+    }
+
+}
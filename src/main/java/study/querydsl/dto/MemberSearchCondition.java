@@ -2,6 +2,10 @@ package study.querydsl.dto;
 
 import lombok.Data;
 
+import java.util.StringJoiner;
+
+import static org.springframework.util.StringUtils.hasText;
+
 @Data
 public class MemberSearchCondition {
     // 회원명, 팀명, 나이(ageGoe, ageLoe)
@@ -10,4 +14,30 @@ public class MemberSearchCondition {
     private Integer ageGoe;
     private Integer ageLoe;
 
+    /**
+     * 조건에서 무시되는 빈 문자열을 null 로 맞춘 사본 (같은 검색인지 비교할 때 사용)
+     */
+    public MemberSearchCondition normalize() {
+        MemberSearchCondition normalized = new MemberSearchCondition();
+        normalized.setUsername(hasText(username) ? username : null);
+        normalized.setTeamName(hasText(teamName) ? teamName : null);
+        normalized.setAgeGoe(ageGoe);
+        normalized.setAgeLoe(ageLoe);
+        return normalized;
+    }
+
+    /**
+     * 값이 들어있는 조건의 조합 (예: "teamName+ageGoe", 조건이 없으면 "all")
+     * 실행 계획이 같은 검색끼리 묶어서 지표를 남길 때 사용
+     */
+    public String shape() {
+        StringJoiner joiner = new StringJoiner("+");
+        joiner.setEmptyValue("all");
+        if (hasText(username)) joiner.add("username");
+        if (hasText(teamName)) joiner.add("teamName");
+        if (ageGoe != null) joiner.add("ageGoe");
+        if (ageLoe != null) joiner.add("ageLoe");
+        return joiner.toString();
+    }
+
 }
@@ -0,0 +1,18 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 여러 검색을 한 번에 요청했을 때 조건별 결과
+ */
+@Data
+@AllArgsConstructor
+public class MemberSearchResult {
+
+    private MemberSearchCondition condition;
+    private List<MemberTeamDto> content;
+
+}
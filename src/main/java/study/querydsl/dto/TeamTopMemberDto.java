@@ -0,0 +1,32 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+
+/**
+ * 팀 안에서 나이 순위가 rank 번째인 회원과 그 팀의 평균 나이
+ */
+@Data
+public class TeamTopMemberDto {
+
+    private Long teamId;
+    private String teamName;
+    private Long memberId;
+    private String username;
+    private int age;
+    private long rank;
+    private double teamAvgAge;
+
+    @QueryProjection
+    public TeamTopMemberDto(Long teamId, String teamName, Long memberId, String username, int age,
+                            long rank, double teamAvgAge) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.memberId = memberId;
+        this.username = username;
+        this.age = age;
+        this.rank = rank;
+        this.teamAvgAge = teamAvgAge;
+    }
+
+}
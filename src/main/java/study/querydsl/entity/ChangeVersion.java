@@ -0,0 +1,45 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 노드 간 캐시 무효화용 변경 기록 (ChangeVersionRecorder 가 쓰고 ChangeVersionPoller 가 읽는다)
+ * id 는 auto increment 라서 각 노드는 마지막으로 읽은 id 이후만 PK 범위로 조회한다.
+ * entityId 가 null 이면 bulk 연산처럼 어떤 행이 바뀌었는지 모르는 변경
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+@Table(name = "change_version", indexes = @Index(name = "idx_change_version_created_at", columnList = "created_at"))
+public class ChangeVersion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_type", length = 20, nullable = false)
+    private String entityType;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    // 변경을 만든 노드 (자기 변경은 엔티티 리스너로 이미 반영했으므로 건너뛴다)
+    @Column(name = "node_id", length = 36, nullable = false)
+    private String nodeId;
+
+    @Column(name = "created_at", nullable = false)
+    private long createdAt;
+
+    public ChangeVersion(String entityType, Long entityId, String nodeId, long createdAt) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.nodeId = nodeId;
+        this.createdAt = createdAt;
+    }
+
+}
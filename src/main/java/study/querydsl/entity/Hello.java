@@ -1,17 +1,17 @@
 package study.querydsl.entity;
 
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import lombok.Getter;
 import lombok.Setter;
+import study.querydsl.entity.id.TimeOrderedId;
 
 @Entity
 @Getter
 @Setter
 public class Hello {
 
-    @Id @GeneratedValue
+    @Id @TimeOrderedId
     private Long id;
 
 }
@@ -3,17 +3,29 @@ package study.querydsl.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import study.querydsl.columnar.MemberColumnarListener;
+import study.querydsl.entity.id.PooledSequence;
+import study.querydsl.version.DataVersionListener;
 
 import java.util.Objects;
 
 @Entity
+@EntityListeners({DataVersionListener.class, MemberColumnarListener.class})
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
+// 검색 조건별 커버링 인덱스 (InnoDB 보조 인덱스는 PK 를 포함하므로 member_id 페이징이 인덱스만으로 끝난다)
+@Table(indexes = {
+        @Index(name = "idx_member_username_age", columnList = "username, age, team_id"),
+        @Index(name = "idx_member_team_id_age", columnList = "team_id, age"),
+        @Index(name = "idx_member_age", columnList = "age, team_id")
+})
 public class Member {
 
-    @Id @GeneratedValue
+    // pooled-lo 시퀀스 (allocationSize 는 app.id.allocation-size.member_seq 로 변경)
+    @Id
+    @PooledSequence(sequenceName = "member_seq", allocationSize = 100)
     @Column(name = "member_id")
     private Long id;
 
@@ -42,8 +54,11 @@ public class Member {
     }
 
     public void changeTeam(Team team) {
+        if (this.team != null && this.team != team) {
+            this.team.removeMember(this);
+        }
         this.team = team;
-        team.getMembers().add(this);
+        team.addMember(this);
     }
 
 }
\ No newline at end of file
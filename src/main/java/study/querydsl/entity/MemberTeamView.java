@@ -0,0 +1,44 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Synchronize;
+
+/**
+ * 검색용 비정규화 테이블 (member + team 조인 결과, MemberTeamDto 와 같은 컬럼)
+ * 애플리케이션에서는 읽기만 하고, 갱신은 member / team 테이블의 트리거가 같은 트랜잭션 안에서 처리한다. (import.sql)
+ * 인덱스는 자주 쓰는 조건별로 모든 컬럼을 포함하는 커버링 인덱스 (InnoDB 보조 인덱스는 PK 를 포함)
+ * @Synchronize: 이 테이블을 조회하기 전에 member / team 의 변경 내용을 먼저 flush 해야 트리거 결과가 보인다
+ */
+@Entity
+@Immutable
+@Synchronize({"member", "team"})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+@Table(name = "member_team_view", indexes = {
+        @Index(name = "idx_mtv_username", columnList = "username, age, team_id, team_name"),
+        @Index(name = "idx_mtv_team_name_age", columnList = "team_name, age, username, team_id"),
+        @Index(name = "idx_mtv_age", columnList = "age, username, team_id, team_name")
+})
+public class MemberTeamView {
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    private String username;
+
+    private int age;
+
+    @Column(name = "team_id")
+    private Long teamId;
+
+    @Column(name = "team_name")
+    private String teamName;
+
+}
@@ -3,18 +3,26 @@ package study.querydsl.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.collection.spi.AbstractPersistentCollection;
+import study.querydsl.columnar.MemberColumnarListener;
+import study.querydsl.entity.id.PooledSequence;
+import study.querydsl.version.DataVersionListener;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners({DataVersionListener.class, MemberColumnarListener.class})
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
 public class Team {
 
-    @Id @GeneratedValue
+    // pooled-lo 시퀀스 (allocationSize 는 app.id.allocation-size.team_seq 로 변경)
+    @Id
+    @PooledSequence(sequenceName = "team_seq", allocationSize = 20)
     @Column(name = "team_id")
     private Long id;
 
@@ -27,4 +35,31 @@ public class Team {
         this.name = name;
     }
 
+    /**
+     * 회원 목록이 아직 로딩되지 않았으면 로딩하지 않고 추가한다. (회원이 많은 팀에서 전체 회원을 읽지 않도록)
+     * - 영속 상태: mappedBy 컬렉션이므로 Hibernate 가 add 를 큐에 쌓아두었다가 로딩 시점에 반영
+     * - 준영속 상태: 연관관계의 주인(Member.team)만 변경되고, 이후 로딩할 때 DB 에서 읽어온다
+     */
+    public void addMember(Member member) {
+        if (Hibernate.isInitialized(members) || isAttached()) {
+            members.add(member);
+        }
+    }
+
+    /**
+     * remove 는 컬렉션을 로딩하므로 이미 로딩된 경우에만 반영
+     * (Member.team 이 프록시일 수 있으므로 public 으로 두어야 프록시가 실제 엔티티로 위임한다)
+     */
+    public void removeMember(Member member) {
+        if (Hibernate.isInitialized(members)) {
+            members.remove(member);
+        }
+    }
+
+    private boolean isAttached() {
+        return members instanceof AbstractPersistentCollection<?> collection
+                && collection.getSession() != null
+                && collection.getSession().isOpen();
+    }
+
 }
@@ -0,0 +1,28 @@
+package study.querydsl.entity.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * allocationSize 를 설정으로 바꿀 수 있는 pooled-lo 시퀀스 ({@link PooledSequenceGenerator})
+ * &#64;GeneratedValue + &#64;SequenceGenerator 대신 식별자 필드에 붙여서 사용
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface PooledSequence {
+
+    String sequenceName();
+
+    /**
+     * app.id.allocation-size.&lt;sequenceName&gt; 이 없을 때 사용하는 값
+     */
+    int allocationSize() default 50;
+
+}
@@ -0,0 +1,43 @@
+package study.querydsl.entity.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * 설정으로 allocationSize 를 지정하는 시퀀스 생성기
+ * - spring.jpa.properties.app.id.allocation-size.&lt;sequenceName&gt; 로 지정 (없으면 @PooledSequence 의 기본값)
+ * - pooled-lo: allocationSize 개의 ID 를 한 번의 DB 왕복으로 할당 (스레드, 노드 간 겹치지 않음)
+ * - 쓰기가 많으면 크게, 재기동이 잦아 버려지는 ID 가 아까우면 작게 (실제 DB 시퀀스를 쓰면 모든 노드가 같은 값이어야 한다)
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE_SETTING_PREFIX = "app.id.allocation-size.";
+
+    private final PooledSequence config;
+
+    public PooledSequenceGenerator(PooledSequence config, Member idMember, CustomIdGeneratorCreationContext context) {
+        this.config = config;
+    }
+
+    @Override
+    public void configure(GeneratorCreationContext creationContext, Properties parameters) {
+        ConfigurationService configurationService = creationContext.getServiceRegistry().getService(ConfigurationService.class);
+        Object configured = configurationService == null ? null
+                : configurationService.getSettings().get(ALLOCATION_SIZE_SETTING_PREFIX + config.sequenceName());
+        int allocationSize = configured != null ? Integer.parseInt(configured.toString().trim()) : config.allocationSize();
+        if (allocationSize <= 0) {
+            throw new IllegalArgumentException(ALLOCATION_SIZE_SETTING_PREFIX + config.sequenceName()
+                    + " 은 1 이상이어야 합니다: " + allocationSize);
+        }
+
+        parameters.put(SEQUENCE_PARAM, config.sequenceName());
+        parameters.put(INCREMENT_PARAM, String.valueOf(allocationSize));
+        super.configure(creationContext, parameters);
+    }
+
+}
@@ -0,0 +1,20 @@
+package study.querydsl.entity.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * DB 조회 없이 애플리케이션에서 시간순 64bit ID 를 생성 ({@link TimeOrderedIdGenerator})
+ * &#64;GeneratedValue 대신 식별자 필드에 붙여서 사용
+ */
+@IdGeneratorType(TimeOrderedIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface TimeOrderedId {
+}
@@ -0,0 +1,93 @@
+package study.querydsl.entity.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * 시간순 64bit ID (snowflake 방식)
+ * | 부호 1bit | 기준 시각 이후 밀리초 41bit | 노드 10bit | 밀리초 내 순번 12bit |
+ * - 노드마다 node-id 가 다르면 여러 서버, 여러 스레드에서 DB 왕복 없이 겹치지 않는 ID 를 만든다.
+ * - 노드 하나당 밀리초마다 4096개까지 생성하고, 초과하면 다음 밀리초까지 대기
+ * - node-id 는 spring.jpa.properties.app.id.node-id 로 지정 (없으면 호스트 이름으로 계산)
+ */
+@Slf4j
+public class TimeOrderedIdGenerator implements IdentifierGenerator {
+
+    public static final String NODE_ID_SETTING = "app.id.node-id";
+
+    static final long EPOCH = 1735689600000L; // 2025-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private long lastMillis = -1;
+    private long sequence;
+
+    public TimeOrderedIdGenerator(TimeOrderedId config, Member idMember, CustomIdGeneratorCreationContext context) {
+        this(resolveNodeId(context.getServiceRegistry().getService(ConfigurationService.class)));
+    }
+
+    public TimeOrderedIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("node-id 는 0 ~ " + MAX_NODE_ID + " 사이여야 합니다: " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return nextId();
+    }
+
+    public synchronized long nextId() {
+        long now = System.currentTimeMillis();
+        // 시계가 뒤로 가면 마지막 시각을 계속 사용 (순번이 소진되면 다음 밀리초로 넘어감)
+        if (now < lastMillis) {
+            now = lastMillis;
+        }
+        if (now == lastMillis) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            if (sequence == 0) {
+                now = waitNextMillis(lastMillis);
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMillis = now;
+        return ((now - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    private long waitNextMillis(long last) {
+        long now = System.currentTimeMillis();
+        while (now <= last) {
+            Thread.onSpinWait();
+            now = System.currentTimeMillis();
+        }
+        return now;
+    }
+
+    private static long resolveNodeId(ConfigurationService configurationService) {
+        Object configured = configurationService == null ? null : configurationService.getSettings().get(NODE_ID_SETTING);
+        if (configured != null) {
+            return Long.parseLong(configured.toString().trim());
+        }
+        try {
+            long nodeId = (InetAddress.getLocalHost().getHostName().hashCode() & Integer.MAX_VALUE) % (MAX_NODE_ID + 1);
+            log.warn("{} 이 지정되지 않아 호스트 이름으로 node-id {} 를 사용합니다. 노드 간 충돌 가능성이 있으니 명시적으로 지정하세요.",
+                    NODE_ID_SETTING, nodeId);
+            return nodeId;
+        } catch (UnknownHostException e) {
+            return 0;
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+package study.querydsl.export;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * member_id 구간 [fromId, toId)
+ */
+public record ExportPartition(int index, long fromId, long toId) {
+
+    public static List<ExportPartition> split(long fromId, long toId, int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("partitions 는 1 이상이어야 합니다.");
+        }
+        long span = toId - fromId;
+        int count = (int) Math.max(1, Math.min(partitions, span));
+        List<ExportPartition> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long from = fromId + span * i / count;
+            long to = fromId + span * (i + 1) / count;
+            result.add(new ExportPartition(i, from, to));
+        }
+        return result;
+    }
+
+    static ExportPartition parse(String line) {
+        String[] parts = line.trim().split("\\s+");
+        return new ExportPartition(Integer.parseInt(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+    }
+
+    String format() {
+        return index + " " + fromId + " " + toId;
+    }
+
+    String fileName() {
+        return String.format("members-part-%04d.ndjson", index);
+    }
+
+}
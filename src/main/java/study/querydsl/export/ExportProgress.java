@@ -0,0 +1,40 @@
+package study.querydsl.export;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+class ExportProgress {
+
+    private final int total;
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicLong rows = new AtomicLong();
+
+    ExportProgress(int total) {
+        this.total = total;
+    }
+
+    void rows(long count) {
+        rows.addAndGet(count);
+    }
+
+    void completed(ExportPartition partition) {
+        completed.incrementAndGet();
+        log.info("export partition {} done [{}, {}). {}", partition.index(), partition.fromId(), partition.toId(), this);
+    }
+
+    void skipped(ExportPartition partition) {
+        skipped.incrementAndGet();
+        log.info("export partition {} already completed, skip. {}", partition.index(), this);
+    }
+
+    @Override
+    public String toString() {
+        return "partitions " + (completed.get() + skipped.get()) + "/" + total
+                + " (skipped " + skipped.get() + "), rows " + rows.get();
+    }
+
+}
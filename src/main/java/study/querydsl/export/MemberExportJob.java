@@ -0,0 +1,36 @@
+package study.querydsl.export;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * 야간 회원 export (member.export.cron 을 지정하지 않으면 실행되지 않음)
+ * 같은 날 다시 실행되면 그 날짜 디렉토리에서 완료되지 않은 구간만 이어서 처리한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberExportJob {
+
+    private final MemberExportService memberExportService;
+
+    @Value("${member.export.dir:export}")
+    private String exportDir;
+
+    @Value("${member.export.partitions:16}")
+    private int partitions;
+
+    @Value("${member.export.parallelism:4}")
+    private int parallelism;
+
+    @Scheduled(cron = "${member.export.cron:-}")
+    public void run() throws IOException {
+        memberExportService.export(Path.of(exportDir, LocalDate.now().toString()), partitions, parallelism);
+    }
+
+}
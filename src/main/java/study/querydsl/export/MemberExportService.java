@@ -0,0 +1,214 @@
+package study.querydsl.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 전체 회원을 member_id 구간별로 나눠 병렬로 내보낸다 (NDJSON)
+ * - 구간마다 별도의 스레드/트랜잭션(=커넥션)에서 스트리밍 조회
+ * - 구간 파일은 .tmp 로 쓰고 끝나면 rename 하므로, 재실행 시 완료된 구간은 건너뛴다
+ * - 구간 경계는 plan 파일에 저장해서 재실행 중 데이터가 늘어나도 같은 경계를 사용
+ * - 모든 구간이 끝나면 하나의 파일로 합치고 구간 파일은 삭제
+ */
+@Slf4j
+@Service
+public class MemberExportService {
+
+    static final String PLAN_FILE = "plan.txt";
+    static final String MERGED_FILE = "members.ndjson";
+
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate readOnlyTx;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+
+    @Value("${member.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public MemberExportService(JPAQueryFactory queryFactory, PlatformTransactionManager transactionManager,
+                               DataSource dataSource, ObjectMapper objectMapper) {
+        this.queryFactory = queryFactory;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+    }
+
+    public Path export(Path dir, int partitions, int parallelism) throws IOException {
+        Path merged = dir.resolve(MERGED_FILE);
+        if (Files.exists(merged)) {
+            log.info("export already completed. file={}", merged);
+            return merged;
+        }
+        Files.createDirectories(dir);
+
+        List<ExportPartition> plan = loadOrCreatePlan(dir, partitions);
+        int threads = boundedParallelism(parallelism, plan.size());
+        ExportProgress progress = new ExportProgress(plan.size());
+        log.info("export start. dir={}, partitions={}, threads={}", dir, plan.size(), threads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (ExportPartition partition : plan) {
+                futures.add(executor.submit(() -> exportPartition(dir, partition, progress)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("export interrupted", e);
+        } catch (ExecutionException e) {
+            // 완료된 구간 파일은 남아있으므로 다시 실행하면 실패한 구간부터 이어서 진행
+            throw new IllegalStateException("export failed. completed=" + progress, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        merge(dir, plan, merged);
+        log.info("export done. file={}, {}", merged, progress);
+        return merged;
+    }
+
+    /**
+     * 커넥션 풀을 export 가 전부 차지하지 않도록 풀 크기 - 1 로 제한
+     */
+    private int boundedParallelism(int requested, int partitions) {
+        int limit = requested;
+        try {
+            // p6spy 등으로 감싸진 경우도 있으므로 unwrap 으로 확인
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                int poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                limit = Math.min(limit, Math.max(1, poolSize - 1));
+            }
+        } catch (SQLException e) {
+            log.warn("connection pool size unknown, use requested parallelism {}", requested);
+        }
+        return Math.max(1, Math.min(limit, partitions));
+    }
+
+    private void exportPartition(Path dir, ExportPartition partition, ExportProgress progress) {
+        Path done = dir.resolve(partition.fileName());
+        if (Files.exists(done)) {
+            progress.skipped(partition);
+            return;
+        }
+
+        Path tmp = dir.resolve(partition.fileName() + ".tmp");
+        readOnlyTx.executeWithoutResult(status -> {
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8);
+                 Stream<MemberTeamDto> rows = queryFactory
+                         .select(new QMemberTeamDto(
+                                 member.id.as("memberId"),
+                                 member.username,
+                                 member.age,
+                                 team.id.as("teamId"),
+                                 team.name.as("teamName")
+                         ))
+                         .from(member)
+                         .leftJoin(member.team, team)
+                         .where(member.id.goe(partition.fromId()), member.id.lt(partition.toId()))
+                         .orderBy(member.id.asc())
+                         .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                         .stream()) {
+                long count = 0;
+                for (MemberTeamDto row : (Iterable<MemberTeamDto>) rows::iterator) {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.newLine();
+                    if (++count % 10_000 == 0) {
+                        progress.rows(10_000);
+                    }
+                }
+                progress.rows(count % 10_000);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        try {
+            Files.move(tmp, done, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        progress.completed(partition);
+    }
+
+    private List<ExportPartition> loadOrCreatePlan(Path dir, int partitions) throws IOException {
+        Path planFile = dir.resolve(PLAN_FILE);
+        if (Files.exists(planFile)) {
+            return Files.readAllLines(planFile).stream()
+                    .filter(line -> !line.isBlank())
+                    .map(ExportPartition::parse)
+                    .toList();
+        }
+
+        Tuple range = queryFactory
+                .select(member.id.min(), member.id.max())
+                .from(member)
+                .fetchOne();
+        Long minId = range == null ? null : range.get(member.id.min());
+        Long maxId = range == null ? null : range.get(member.id.max());
+
+        List<ExportPartition> plan = minId == null
+                ? List.of()
+                : ExportPartition.split(minId, maxId + 1, partitions);
+        Files.write(planFile, plan.stream().map(ExportPartition::format).toList());
+        return plan;
+    }
+
+    private void merge(Path dir, List<ExportPartition> plan, Path merged) throws IOException {
+        Path tmp = dir.resolve(MERGED_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (ExportPartition partition : plan) {
+                try (FileChannel in = FileChannel.open(dir.resolve(partition.fileName()), StandardOpenOption.READ)) {
+                    long position = 0;
+                    long size = in.size();
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+        }
+        Files.move(tmp, merged, StandardCopyOption.ATOMIC_MOVE);
+
+        for (ExportPartition partition : plan) {
+            Files.deleteIfExists(dir.resolve(partition.fileName()));
+        }
+        Files.deleteIfExists(dir.resolve(PLAN_FILE));
+    }
+
+}
@@ -0,0 +1,101 @@
+package study.querydsl.facet;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberFacets;
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * DB 집계 쿼리로 facet 계산 (MemberFacetService 가 컬럼 저장소를 쓸 수 없을 때만 사용)
+ * 읽기 전용 트랜잭션이 프록시를 통해 적용되도록 별도 빈으로 분리
+ */
+@Component
+public class MemberFacetQuery {
+
+    private final JPAQueryFactory queryFactory;
+
+    public MemberFacetQuery(JPAQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+
+    @Transactional(readOnly = true)
+    public MemberFacets facets(MemberSearchCondition condition, int ageBucketSize) {
+        Long total = queryFactory
+                .select(member.count())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+                .fetchOne();
+
+        // 팀 facet 은 팀 조건을 제외
+        List<MemberFacets.TeamCount> teams = new ArrayList<>();
+        for (Tuple row : queryFactory
+                .select(team.id, team.name, member.count())
+                .from(member)
+                .join(member.team, team)
+                .where(
+                        usernameEq(condition.getUsername()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+                .groupBy(team.id, team.name)
+                .orderBy(team.id.asc())
+                .fetch()) {
+            teams.add(new MemberFacets.TeamCount(row.get(team.id), row.get(team.name), row.get(member.count())));
+        }
+
+        // 나이 facet 은 나이 조건을 제외 (나이별로 모은 뒤 구간으로 합산)
+        NavigableMap<Integer, Long> buckets = new TreeMap<>();
+        for (Tuple row : queryFactory
+                .select(member.age, member.count())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName())
+                )
+                .groupBy(member.age)
+                .fetch()) {
+            int age = row.get(member.age);
+            buckets.merge(Math.floorDiv(age, ageBucketSize) * ageBucketSize, row.get(member.count()), Long::sum);
+        }
+        List<MemberFacets.AgeBucketCount> ages = new ArrayList<>(buckets.size());
+        buckets.forEach((from, count) -> ages.add(new MemberFacets.AgeBucketCount(from, from + ageBucketSize - 1, count)));
+
+        return new MemberFacets(total != null ? total : 0, teams, ages);
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return hasText(username) ? member.username.eq(username) : null;
+    }
+
+    private BooleanExpression teamNameEq(String teamName) {
+        return hasText(teamName) ? team.name.eq(teamName) : null;
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe != null ? member.age.goe(ageGoe) : null;
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    }
+
+}
@@ -0,0 +1,47 @@
+package study.querydsl.facet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.columnar.MemberColumnarEngine;
+import study.querydsl.dto.MemberFacets;
+import study.querydsl.dto.MemberSearchCondition;
+
+/**
+ * 검색 조건별 팀, 나이 구간 facet 개수 (member.columnar.enabled=true 일 때만 등록)
+ * 메모리 컬럼 저장소의 비트맵 인덱스 교집합으로 계산한다.
+ * 요청마다 GROUP BY 집계를 돌리지 않도록 DB 집계 쿼리는 저장소가 stale 이거나 쓰기 트랜잭션 안일 때만 사용한다.
+ */
+@Service
+@ConditionalOnProperty(name = "member.columnar.enabled", havingValue = "true")
+public class MemberFacetService {
+
+    private final MemberFacetQuery facetQuery;
+    private final MemberColumnarEngine columnarEngine;
+    private final int ageBucketSize;
+
+    public MemberFacetService(MemberFacetQuery facetQuery,
+                              MemberColumnarEngine columnarEngine,
+                              @Value("${member.facets.age-bucket:10}") int ageBucketSize) {
+        if (ageBucketSize <= 0) {
+            throw new IllegalArgumentException("member.facets.age-bucket 은 1 이상이어야 합니다: " + ageBucketSize);
+        }
+        this.facetQuery = facetQuery;
+        this.columnarEngine = columnarEngine;
+        this.ageBucketSize = ageBucketSize;
+    }
+
+    public MemberFacets facets(MemberSearchCondition condition) {
+        if (!inWriteTransaction() && columnarEngine.isFresh()) {
+            return columnarEngine.facets(condition, ageBucketSize);
+        }
+        return facetQuery.facets(condition, ageBucketSize);
+    }
+
+    private boolean inWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+}
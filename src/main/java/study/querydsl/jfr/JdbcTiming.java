@@ -0,0 +1,36 @@
+package study.querydsl.jfr;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * 스레드별 JDBC statement 실행 시간 누적 (hibernate.session.events.auto 로 모든 세션에 등록)
+ * 조회 전후의 누적값 차이가 그 조회의 SQL 시간이고, 나머지는 결과 읽기와 DTO/엔티티 생성(projection) 시간이다.
+ */
+public class JdbcTiming implements SessionEventListener {
+
+    // [0]: 실행 중인 statement 시작 시각, [1]: 누적 실행 시간
+    private static final ThreadLocal<long[]> TIMES = ThreadLocal.withInitial(() -> new long[2]);
+
+    public static long executeNanos() {
+        return TIMES.get()[1];
+    }
+
+    /**
+     * Hibernate 를 거치지 않는 JDBC 실행(JdbcTemplate)의 실행 시간을 더한다.
+     */
+    public static void addExecuteNanos(long nanos) {
+        TIMES.get()[1] += nanos;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        TIMES.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        long[] times = TIMES.get();
+        times[1] += System.nanoTime() - times[0];
+    }
+
+}
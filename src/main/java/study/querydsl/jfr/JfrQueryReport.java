@@ -0,0 +1,151 @@
+package study.querydsl.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JFR 기록 파일에서 회원 조회/bulk 이벤트를 (메서드, shape) 별로 집계해서 출력
+ *
+ * ./gradlew jfrReport -Pjfr=member-queries.jfr
+ */
+public class JfrQueryReport {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: JfrQueryReport <recording.jfr>");
+            System.exit(1);
+        }
+        print(summarize(Path.of(args[0])), System.out);
+    }
+
+    public static List<Row> summarize(Path recording) throws IOException {
+        Map<String, Row> rows = new LinkedHashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+            String type = event.getEventType().getName();
+            if (MemberQueryEvent.NAME.equals(type)) {
+                String method = event.getString("method");
+                String shape = event.getString("shape");
+                rows.computeIfAbsent("query|" + method + "|" + shape, key -> new Row("query", method, shape))
+                        .add(event.getDuration(), event.getLong("rows"),
+                                event.getDuration("sqlTime"), event.getDuration("projectionTime"), event.getDuration("countTime"));
+            } else if (MemberBulkEvent.NAME.equals(type)) {
+                String operation = event.getString("operation");
+                String entity = event.getString("entity");
+                rows.computeIfAbsent("bulk|" + operation + "|" + entity, key -> new Row("bulk", operation, entity))
+                        .add(event.getDuration(), event.getLong("rows"), Duration.ZERO, Duration.ZERO, Duration.ZERO);
+            }
+        }
+        List<Row> result = new ArrayList<>(rows.values());
+        result.sort(Comparator.comparing(Row::getTotal).reversed());
+        return result;
+    }
+
+    public static void print(List<Row> rows, PrintStream out) {
+        out.printf("%-6s %-24s %-32s %7s %10s %10s %10s %10s %10s %10s %10s %9s%n",
+                "kind", "method", "shape", "calls", "total(ms)", "p50(ms)", "p95(ms)", "max(ms)",
+                "sql(ms)", "proj(ms)", "count(ms)", "avg rows");
+        for (Row row : rows) {
+            out.printf("%-6s %-24s %-32s %7d %10.1f %10.2f %10.2f %10.2f %10.1f %10.1f %10.1f %9.1f%n",
+                    row.kind, row.method, row.shape, row.count,
+                    millis(row.getTotal()), millis(row.percentile(50)), millis(row.percentile(95)), millis(row.percentile(100)),
+                    millis(row.sqlTime), millis(row.projectionTime), millis(row.countTime), (double) row.rows / row.count);
+        }
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+
+    public static class Row {
+
+        private final String kind;
+        private final String method;
+        private final String shape;
+
+        private int count;
+        private long rows;
+        private long[] durations = new long[16];
+        private Duration sqlTime = Duration.ZERO;
+        private Duration projectionTime = Duration.ZERO;
+        private Duration countTime = Duration.ZERO;
+
+        Row(String kind, String method, String shape) {
+            this.kind = kind;
+            this.method = method;
+            this.shape = shape;
+        }
+
+        void add(Duration duration, long rows, Duration sql, Duration projection, Duration countQuery) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = duration.toNanos();
+            this.rows += rows;
+            sqlTime = sqlTime.plus(sql);
+            projectionTime = projectionTime.plus(projection);
+            countTime = countTime.plus(countQuery);
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getShape() {
+            return shape;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public Duration getTotal() {
+            long total = 0;
+            for (int i = 0; i < count; i++) {
+                total += durations[i];
+            }
+            return Duration.ofNanos(total);
+        }
+
+        public Duration getSqlTime() {
+            return sqlTime;
+        }
+
+        public Duration getProjectionTime() {
+            return projectionTime;
+        }
+
+        public Duration getCountTime() {
+            return countTime;
+        }
+
+        /**
+         * nearest-rank 백분위 (100 이면 최댓값)
+         */
+        public Duration percentile(int percent) {
+            long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percent / 100.0 * count);
+            return Duration.ofNanos(sorted[Math.max(0, rank - 1)]);
+        }
+    }
+
+}
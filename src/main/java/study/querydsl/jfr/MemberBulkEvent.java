@@ -0,0 +1,44 @@
+package study.querydsl.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * QueryDSL bulk 연산(update, delete, insert) execute() 1건에 대한 JFR 이벤트
+ * 어디서 호출했는지 알 수 있도록 기본으로 스택 트레이스를 남긴다. (bulk 연산은 드물다)
+ */
+@Name(MemberBulkEvent.NAME)
+@Label("Member Bulk Execute")
+@Category({"Application", "Querydsl"})
+@Description("QueryDSL bulk update/delete/insert 실행")
+@StackTrace(true)
+@Threshold("0 ms")
+public class MemberBulkEvent extends Event {
+
+    public static final String NAME = "study.querydsl.MemberBulk";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Entity")
+    String entity;
+
+    @Label("Rows")
+    long rows;
+
+    public MemberBulkEvent(String operation, String entity) {
+        this.operation = operation;
+        this.entity = entity;
+    }
+
+    public void finish(long rows) {
+        this.rows = rows;
+        commit();
+    }
+
+}
@@ -0,0 +1,106 @@
+package study.querydsl.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+import java.util.function.Supplier;
+
+/**
+ * 회원 조회 1건에 대한 JFR 이벤트 (MemberJpaRepository, MemberRepositoryImpl)
+ * 임계값, 스택 트레이스 여부는 jfr/member-queries.jfc 로 바꿀 수 있다.
+ *
+ * <pre>
+ * MemberQueryEvent event = MemberQueryEvent.start("search", condition.shape());
+ * List&lt;MemberTeamDto&gt; result = event.fetch(query::fetch);
+ * event.finish(result.size());
+ * </pre>
+ * 이벤트가 꺼져 있으면 시간 측정 없이 조회만 실행한다.
+ */
+@Name(MemberQueryEvent.NAME)
+@Label("Member Query")
+@Category({"Application", "Querydsl"})
+@Description("회원 조회 메서드 실행 (SQL, projection, count 쿼리 시간)")
+@StackTrace(false)
+@Threshold("20 ms")
+public class MemberQueryEvent extends Event {
+
+    public static final String NAME = "study.querydsl.MemberQuery";
+
+    @Label("Method")
+    String method;
+
+    @Label("Shape")
+    @Description("값이 있는 검색 조건 조합 (MemberSearchCondition.shape)")
+    String shape;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("SQL Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long sqlTime;
+
+    @Label("Projection Time")
+    @Description("결과 읽기와 엔티티/DTO 생성 시간")
+    @Timespan(Timespan.NANOSECONDS)
+    long projectionTime;
+
+    @Label("Count Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long countTime;
+
+    public static MemberQueryEvent start(String method, String shape) {
+        MemberQueryEvent event = new MemberQueryEvent();
+        if (event.isEnabled()) {
+            event.method = method;
+            event.shape = shape;
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * 내용 조회. JDBC 실행 시간은 SQL 시간, 나머지는 projection 시간으로 나눈다.
+     */
+    public <T> T fetch(Supplier<T> query) {
+        if (!isEnabled()) {
+            return query.get();
+        }
+        long jdbcBefore = JdbcTiming.executeNanos();
+        long start = System.nanoTime();
+        try {
+            return query.get();
+        } finally {
+            long total = System.nanoTime() - start;
+            long sql = JdbcTiming.executeNanos() - jdbcBefore;
+            sqlTime += sql;
+            projectionTime += Math.max(0, total - sql);
+        }
+    }
+
+    public <T> T count(Supplier<T> query) {
+        if (!isEnabled()) {
+            return query.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return query.get();
+        } finally {
+            countTime += System.nanoTime() - start;
+        }
+    }
+
+    public void finish(long rows) {
+        if (isEnabled()) {
+            this.rows = rows;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package study.querydsl.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * JVM 옵션 없이 애플리케이션 안에서 회원 조회 이벤트를 계속 기록 (member.jfr.recording.enabled=true)
+ * 최근 max-age 만큼만 디스크에 유지하고, 종료 시 file 로 저장한다.
+ * 이벤트별 임계값과 스택 트레이스 여부는 jfr/member-queries.jfc 값을 프로퍼티로 덮어쓸 수 있다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "member.jfr.recording.enabled", havingValue = "true")
+public class MemberQueryRecording {
+
+    @Value("${member.jfr.recording.file:jfr/member-queries.jfr}")
+    private Path file;
+
+    @Value("${member.jfr.recording.max-age:1h}")
+    private Duration maxAge;
+
+    @Value("${member.jfr.query.threshold:#{null}}")
+    private Duration queryThreshold;
+
+    @Value("${member.jfr.query.stack-trace:#{null}}")
+    private Boolean queryStackTrace;
+
+    @Value("${member.jfr.bulk.threshold:#{null}}")
+    private Duration bulkThreshold;
+
+    @Value("${member.jfr.bulk.stack-trace:#{null}}")
+    private Boolean bulkStackTrace;
+
+    private Recording recording;
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        try (Reader reader = new InputStreamReader(
+                new ClassPathResource("jfr/member-queries.jfc").getInputStream(), StandardCharsets.UTF_8)) {
+            recording = new Recording(Configuration.create(reader));
+        }
+        recording.setName("member-queries");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+
+        if (queryThreshold != null) {
+            recording.enable(MemberQueryEvent.NAME).withThreshold(queryThreshold);
+        }
+        if (queryStackTrace != null) {
+            recording.enable(MemberQueryEvent.NAME).with("stackTrace", queryStackTrace.toString());
+        }
+        if (bulkThreshold != null) {
+            recording.enable(MemberBulkEvent.NAME).withThreshold(bulkThreshold);
+        }
+        if (bulkStackTrace != null) {
+            recording.enable(MemberBulkEvent.NAME).with("stackTrace", bulkStackTrace.toString());
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        recording.setDestination(file);
+        recording.start();
+        log.info("member query recording started. settings={}, file={}", recording.getSettings(), file);
+    }
+
+    /**
+     * 지금까지의 기록을 파일로 저장 (기록은 계속된다)
+     */
+    public Path dump(Path target) throws IOException {
+        recording.dump(target);
+        return target;
+    }
+
+    @PreDestroy
+    public void stop() {
+        // destination 이 지정되어 있으면 stop() 때 파일로 저장된다
+        recording.stop();
+        recording.close();
+    }
+
+}
@@ -0,0 +1,27 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA 를 거치지 않는 쿼리(JDBC, QueryDSL SQL)를 실행하기 전에 호출
+ * JPA 쿼리의 auto flush 처럼 아직 DB 에 반영되지 않은 변경을 먼저 flush 한다. (쓰기 트랜잭션 안에서만)
+ */
+@Component
+public class JpaFlush {
+
+    private final EntityManager em;
+
+    public JpaFlush(EntityManager em) {
+        this.em = em;
+    }
+
+    public void flushIfWriting() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            em.flush();
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPADeleteClause;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.columnar.MemberColumnarEngine;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.jfr.MemberBulkEvent;
+import study.querydsl.version.ChangeVersionRecorder;
+import study.querydsl.version.DataVersion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 영향받는 회원을 먼저 찾아서 실행하는 bulk update / delete
+ * bulk 연산 후 em.clear() 로 영속성 컨텍스트 전체를 버리는 대신 바뀐 회원만 동기화한다.
+ * 1. 조건에 맞는 member_id 를 조회하면서 행 잠금 (조회와 실행 사이에 다른 트랜잭션이 바꾸지 못하도록)
+ * 2. 그 id 들에 대해서만 bulk 연산 실행
+ * 3. 영속성 컨텍스트에 있는 해당 회원만 refresh(update) / detach(delete), 2차 캐시와 애플리케이션 캐시도 해당 id 만 무효화
+ * 바뀐 행을 알고 있으므로 InstrumentedQueryFactory 처럼 회원 전체를 바뀐 것으로 기록하지 않는다.
+ */
+@Repository
+public class MemberBulkRepository {
+
+    // bulk 연산 한 번에 넣는 최대 id 개수
+    static final int BULK_IN_SIZE = 1000;
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final DataVersion dataVersion;
+    private final ObjectProvider<ChangeVersionRecorder> changeVersionRecorder;
+    private final ObjectProvider<MemberColumnarEngine> columnarEngine;
+
+    public MemberBulkRepository(EntityManager em, JPAQueryFactory queryFactory, DataVersion dataVersion,
+                                ObjectProvider<ChangeVersionRecorder> changeVersionRecorder,
+                                ObjectProvider<MemberColumnarEngine> columnarEngine) {
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.dataVersion = dataVersion;
+        this.changeVersionRecorder = changeVersionRecorder;
+        this.columnarEngine = columnarEngine;
+    }
+
+    /**
+     * 예) update(member.age.lt(25), update -> update.set(member.username, "비회원"))
+     * 조건(where)은 member 컬럼만 사용해야 한다. (bulk 연산과 같은 제약)
+     */
+    @Transactional
+    public long update(Predicate where, Consumer<JPAUpdateClause> assignments) {
+        List<Long> ids = lockIds(where);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        MemberBulkEvent event = new MemberBulkEvent("update", Member.class.getSimpleName());
+        event.begin();
+        long count = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            JPAUpdateClause update = new JPAUpdateClause(em, member);
+            assignments.accept(update);
+            count += update.where(member.id.in(chunk)).execute();
+        }
+        event.finish(count);
+
+        for (Long id : ids) {
+            Member managed = managed(id);
+            if (managed != null) {
+                refresh(managed);
+            }
+        }
+        changed(ids);
+        return count;
+    }
+
+    @Transactional
+    public long delete(Predicate where) {
+        List<Long> ids = lockIds(where);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        MemberBulkEvent event = new MemberBulkEvent("delete", Member.class.getSimpleName());
+        event.begin();
+        long count = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            count += new JPADeleteClause(em, member).where(member.id.in(chunk)).execute();
+        }
+        event.finish(count);
+
+        for (Long id : ids) {
+            Member managed = managed(id);
+            if (managed != null) {
+                if (managed.getTeam() != null) {
+                    managed.getTeam().removeMember(managed);
+                }
+                em.detach(managed);
+            }
+        }
+        changed(ids);
+        return count;
+    }
+
+    private List<Long> lockIds(Predicate where) {
+        // 아직 반영되지 않은 변경이 조건에 보이고, bulk 연산 결과를 나중에 덮어쓰지 않도록 먼저 flush
+        em.flush();
+        return queryFactory
+                .select(member.id)
+                .from(member)
+                .where(where)
+                .orderBy(member.id.asc())
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch();
+    }
+
+    /**
+     * 영속성 컨텍스트에 로딩되어 있는 회원 (없으면 null, 로딩하지 않는다)
+     */
+    private Member managed(Long id) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Member.class);
+        EntityKey key = session.generateEntityKey(id, persister);
+        return (Member) session.getPersistenceContextInternal().getEntity(key);
+    }
+
+    /**
+     * 팀이 바뀌었으면 이미 로딩된 양쪽 팀의 회원 목록도 맞춘다
+     */
+    private void refresh(Member managed) {
+        Team before = managed.getTeam();
+        em.refresh(managed);
+        Team after = managed.getTeam();
+        // 프록시와 실제 엔티티가 섞여 있을 수 있으므로 id 로 비교 (프록시의 getId() 는 초기화하지 않는다)
+        if (!Objects.equals(before != null ? before.getId() : null, after != null ? after.getId() : null)) {
+            if (before != null) {
+                before.removeMember(managed);
+            }
+            if (after != null) {
+                after.addMember(managed);
+            }
+        }
+    }
+
+    private void changed(List<Long> ids) {
+        for (Long id : ids) {
+            em.getEntityManagerFactory().getCache().evict(Member.class, id);
+        }
+        dataVersion.markChanged();
+        changeVersionRecorder.ifAvailable(recorder -> ids.forEach(id -> recorder.changed(Member.class, id)));
+        columnarEngine.ifAvailable(columnar -> columnar.membersChanged(ids));
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_IN_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + BULK_IN_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+}
@@ -5,12 +5,16 @@ import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
+import study.querydsl.deadline.Deadline;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.jfr.MemberQueryEvent;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,28 +38,70 @@ public class MemberJpaRepository {
         return Optional.ofNullable(member);
     }
 
+    /**
+     * member_id IN (...) 한 번으로 조회 (순서는 보장하지 않고, 없는 id 는 결과에서 빠진다)
+     */
+    public List<Member> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        MemberQueryEvent event = MemberQueryEvent.start("findAllById", "id");
+        List<Member> result = event.fetch(() -> queryFactory
+                .selectFrom(member)
+                .where(member.id.in(ids))
+                .fetch());
+        event.finish(result.size());
+        return result;
+    }
+
+    /**
+     * 조회 전용 메서드는 read-only 힌트로 로딩
+     * 변경 감지용 스냅샷을 만들지 않으므로 메모리와 flush 비용이 줄어든다. (반환된 엔티티를 수정해도 반영되지 않음)
+     * 엔티티 자체는 영속성 컨텍스트에 남는다. 같은 트랜잭션에서 먼저 저장, 조회한 회원과 같은 인스턴스를 돌려줘야
+     * (한 행에 객체 하나) 호출하는 쪽이 엔티티를 == 로 비교하고 team 을 지연 로딩할 수 있기 때문이다.
+     * 영속성 컨텍스트를 채우지 않아야 하는 대량 조회는 DTO 프로젝션(search, searchByBuilder)을 사용한다.
+     */
     public List<Member> findAll() {
-        return em.createQuery("select m from Member m", Member.class)
-                .getResultList();
+        MemberQueryEvent event = MemberQueryEvent.start("findAll", "all");
+        List<Member> result = event.fetch(() -> Deadline.applyTo(em.createQuery("select m from Member m", Member.class))
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList());
+        event.finish(result.size());
+        return result;
     }
 
     public List<Member> findAll_Querydsl() {
-        return queryFactory
+        MemberQueryEvent event = MemberQueryEvent.start("findAll_Querydsl", "all");
+        List<Member> result = event.fetch(() -> queryFactory
                 .selectFrom(member)
-                .fetch();
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .fetch());
+        event.finish(result.size());
+        return result;
     }
 
+    /**
+     * findAll() 과 같은 이유로 read-only 엔티티를 영속성 컨텍스트에 둔다.
+     */
     public List<Member> findByUsername(String username) {
-        return em.createQuery("select m from Member m where m.username = :username", Member.class)
+        MemberQueryEvent event = MemberQueryEvent.start("findByUsername", "username");
+        List<Member> result = event.fetch(() -> Deadline.applyTo(em.createQuery("select m from Member m where m.username = :username", Member.class))
                 .setParameter("username", username)
-                .getResultList();
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList());
+        event.finish(result.size());
+        return result;
     }
 
     public List<Member> findByUsername_Querydsl(String username) {
-        return queryFactory
+        MemberQueryEvent event = MemberQueryEvent.start("findByUsername_Querydsl", "username");
+        List<Member> result = event.fetch(() -> queryFactory
                 .selectFrom(member)
                 .where(member.username.eq(username))
-                .fetch();
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .fetch());
+        event.finish(result.size());
+        return result;
     }
 
     public List<MemberTeamDto> searchByBuilder(MemberSearchCondition condition) {
@@ -78,7 +124,8 @@ public class MemberJpaRepository {
             builder.and(member.age.loe(condition.getAgeLoe()));
         }
 
-        return queryFactory
+        MemberQueryEvent event = MemberQueryEvent.start("searchByBuilder", condition.shape());
+        List<MemberTeamDto> result = event.fetch(() -> queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -89,11 +136,14 @@ public class MemberJpaRepository {
                 .from(member)
                 .leftJoin(member.team, team)
                 .where(builder)
-                .fetch();
+                .fetch());
+        event.finish(result.size());
+        return result;
     }
 
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
-        return queryFactory
+        MemberQueryEvent event = MemberQueryEvent.start("search", condition.shape());
+        List<MemberTeamDto> result = event.fetch(() -> queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -109,8 +159,9 @@ public class MemberJpaRepository {
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe())
                 )
-                .fetch();
-
+                .fetch());
+        event.finish(result.size());
+        return result;
     }
 
     private BooleanExpression usernameEq(String username) {
@@ -0,0 +1,96 @@
+package study.querydsl.repository;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+import study.querydsl.entity.Member;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * id 로 회원을 하나씩 찾는 호출을 모아서 member_id IN (...) 한 번으로 조회 (DataLoader 방식)
+ * - load(): 조회를 예약하고 future 반환, dispatch() 때 예약된 id 를 한꺼번에 조회해서 완료
+ * - loadMany(): 예약 후 바로 dispatch, 요청한 순서대로 Optional 반환 (없는 id 는 Optional.empty())
+ * - 같은 id 는 한 번만 조회하고 같은 future 를 돌려준다. (요청 범위 동안 캐시)
+ *
+ * 웹 요청마다 새로 만들어지는 빈이며, 요청 밖(배치 작업 등)에서는 new MemberLoader(memberJpaRepository) 로 사용한다.
+ * 엔티티는 영속성 컨텍스트에 묶여 있으므로 스레드 간에 공유하지 않는다.
+ */
+@Component
+@RequestScope
+public class MemberLoader {
+
+    // IN 절 하나에 넣는 최대 id 개수
+    static final int MAX_BATCH_SIZE = 500;
+
+    private final MemberJpaRepository memberJpaRepository;
+
+    private final Map<Long, CompletableFuture<Optional<Member>>> cache = new HashMap<>();
+    private final Map<Long, CompletableFuture<Optional<Member>>> pending = new LinkedHashMap<>();
+
+    public MemberLoader(MemberJpaRepository memberJpaRepository) {
+        this.memberJpaRepository = memberJpaRepository;
+    }
+
+    public CompletableFuture<Optional<Member>> load(Long id) {
+        return cache.computeIfAbsent(id, key -> {
+            CompletableFuture<Optional<Member>> future = new CompletableFuture<>();
+            pending.put(key, future);
+            return future;
+        });
+    }
+
+    public List<Optional<Member>> loadMany(Collection<Long> ids) {
+        List<CompletableFuture<Optional<Member>>> futures = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            futures.add(load(id));
+        }
+        dispatch();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * 예약된 id 를 조회해서 future 를 완료. 조회가 실패한 id 는 캐시에서 빼서 다음 load 때 다시 조회한다.
+     */
+    public void dispatch() {
+        while (!pending.isEmpty()) {
+            Map<Long, CompletableFuture<Optional<Member>>> batch = new LinkedHashMap<>();
+            Iterator<Map.Entry<Long, CompletableFuture<Optional<Member>>>> iterator = pending.entrySet().iterator();
+            while (iterator.hasNext() && batch.size() < MAX_BATCH_SIZE) {
+                Map.Entry<Long, CompletableFuture<Optional<Member>>> entry = iterator.next();
+                batch.put(entry.getKey(), entry.getValue());
+                iterator.remove();
+            }
+
+            Map<Long, Member> found = new HashMap<>();
+            try {
+                for (Member member : memberJpaRepository.findAllById(batch.keySet())) {
+                    found.put(member.getId(), member);
+                }
+            } catch (RuntimeException e) {
+                batch.forEach((id, future) -> {
+                    cache.remove(id);
+                    future.completeExceptionally(e);
+                });
+                throw e;
+            }
+            batch.forEach((id, future) -> future.complete(Optional.ofNullable(found.get(id))));
+        }
+    }
+
+    /**
+     * 캐시를 비운다. (회원을 변경, 삭제한 뒤 다시 조회해야 할 때)
+     */
+    public void clear() {
+        // 아직 dispatch 되지 않은 future 는 그대로 두어야 완료될 수 있다
+        cache.keySet().retainAll(pending.keySet());
+    }
+
+}
@@ -0,0 +1,15 @@
+package study.querydsl.repository;
+
+import study.querydsl.entity.Member;
+
+import java.util.List;
+
+/**
+ * Spring Data 파생 쿼리 대신 직접 구현하는 회원 조회 (MemberReadRepositoryImpl)
+ * 파생 쿼리는 요청 처리 기한(Deadline)을 쿼리 타임아웃으로 적용할 수 없으므로 이쪽에 선언한다.
+ */
+public interface MemberReadRepository {
+
+    List<Member> findByUsername(String username);
+
+}
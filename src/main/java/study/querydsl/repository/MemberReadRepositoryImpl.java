@@ -0,0 +1,28 @@
+package study.querydsl.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+
+import java.util.List;
+
+/**
+ * MemberJpaRepository 와 같은 쿼리: Deadline 의 남은 시간을 쿼리 타임아웃으로, read-only 힌트로 로딩
+ */
+public class MemberReadRepositoryImpl implements MemberReadRepository {
+
+    private final MemberJpaRepository memberJpaRepository;
+
+    public MemberReadRepositoryImpl(MemberJpaRepository memberJpaRepository) {
+        this.memberJpaRepository = memberJpaRepository;
+    }
+
+    // 읽기 전용 트랜잭션 + read-only 힌트 (바깥 트랜잭션이 쓰기 트랜잭션이어도 스냅샷을 만들지 않음)
+    // 엔티티는 영속성 컨텍스트에 남는다: 같은 트랜잭션의 회원과 같은 인스턴스여야 == 비교, team 지연 로딩이 된다
+    // (영속성 컨텍스트를 채우지 않는 조회는 search, searchPage 의 DTO 프로젝션)
+    @Override
+    @Transactional(readOnly = true)
+    public List<Member> findByUsername(String username) {
+        return memberJpaRepository.findByUsername(username);
+    }
+
+}
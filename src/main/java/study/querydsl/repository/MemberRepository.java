@@ -4,8 +4,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import study.querydsl.entity.Member;
 
-import java.util.List;
-
-public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom, QuerydslPredicateExecutor<Member> {
-    List<Member> findByUsername(String username);
+// findByUsername 은 파생 쿼리가 아니라 MemberReadRepository 에서 직접 구현 (Deadline 을 쿼리 타임아웃으로 적용)
+public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom, MemberReadRepository,
+        QuerydslPredicateExecutor<Member> {
 }
@@ -2,13 +2,39 @@ package study.querydsl.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public interface MemberRepositoryCustom {
     List<MemberTeamDto> search(MemberSearchCondition condition);
 
     Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable);
+
+    /**
+     * 전체 개수 없이 다음 페이지 여부만 필요할 때 (구현에 따라 COUNT 쿼리를 생략)
+     * 기본 구현은 searchPage() 결과를 사용한다.
+     */
+    default Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable) {
+        Page<MemberTeamDto> page = searchPage(condition, pageable);
+        return new SliceImpl<>(page.getContent(), pageable, page.hasNext());
+    }
+
+    /**
+     * 여러 검색을 한 번에 실행. 결과는 조건별로 (요청 순서대로, 같은 조건은 한 번만)
+     * 기본 구현은 조건마다 search() 를 호출한다.
+     */
+    default Map<MemberSearchCondition, List<MemberTeamDto>> searchAll(Collection<MemberSearchCondition> conditions) {
+        Map<MemberSearchCondition, List<MemberTeamDto>> results = new LinkedHashMap<>();
+        for (MemberSearchCondition condition : conditions) {
+            results.computeIfAbsent(condition.normalize(), this::search);
+        }
+        return results;
+    }
 }
@@ -3,29 +3,382 @@ package study.querydsl.repository;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
-
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.columnar.MemberColumnarEngine;
+import study.querydsl.deadline.Deadline;
+import study.querydsl.dto.MatchKeys;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.jfr.MemberQueryEvent;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 import static org.springframework.data.support.PageableExecutionUtils.getPage;
 import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QMemberTeamView.memberTeamView;
 import static study.querydsl.entity.QTeam.team;
 
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
+    static final String READ_MODEL_VIEW = "view";
+
+    static final String MAPPING_JDBC = "jdbc";
+
+    // searchAll 에서 IN 절 하나에 넣는 최대 값 개수
+    static final int BATCH_IN_SIZE = 500;
+
+    // 기본 deferred join 전환 기준 offset (member.search.deferred-join-offset)
+    static final long DEFAULT_DEFERRED_JOIN_OFFSET = 1000;
+
     private final JPAQueryFactory queryFactory;
 
-    public MemberRepositoryImpl(JPAQueryFactory queryFactory) {
+    // member_team_view(비정규화 테이블)에서 조인 없이 검색할지 여부
+    private final boolean useReadModel;
+
+    // 검색 결과를 JDBC 로 직접 매핑할지 여부 (QueryDSL 프로젝션의 행마다 생기는 할당을 줄임)
+    private final boolean useJdbcMapping;
+    private final MemberTeamJdbcRepository jdbcRepository;
+
+    // offset 이 이 값 이상인 페이지는 member_id 만 먼저 페이징한 뒤 그 행만 조회 (deferred join)
+    private final long deferredJoinOffset;
+
+    // 이 검색 조건 조합(MemberSearchCondition.shape)은 QueryDSL SQL 로 실행 ("*" 면 전부)
+    private final Set<String> sqlShapes;
+    private final MemberSqlRepository sqlRepository;
+
+    // member.columnar.enabled=true 일 때만 존재
+    private final ObjectProvider<MemberColumnarEngine> columnarEngine;
+
+    // searchAll 에서 합칠 수 없는 검색을 동시에 실행할 때 사용
+    private final Executor searchExecutor;
+
+    // 동일한 검색이 동시에 몰리면 DB 조회는 한 번만 실행하고 결과를 공유
+    private final SingleFlight<MemberSearchCondition, List<MemberTeamDto>> searchFlight = new SingleFlight<>();
+    private final SingleFlight<PageSearchKey, Page<MemberTeamDto>> searchPageFlight = new SingleFlight<>();
+
+    public MemberRepositoryImpl(JPAQueryFactory queryFactory,
+                                @Value("${member.search.read-model:join}") String readModel,
+                                @Value("${member.search.mapping:querydsl}") String mapping,
+                                MemberTeamJdbcRepository jdbcRepository,
+                                @Value("${member.search.deferred-join-offset:" + DEFAULT_DEFERRED_JOIN_OFFSET + "}") long deferredJoinOffset,
+                                @Value("${member.search.sql-shapes:}") Set<String> sqlShapes,
+                                MemberSqlRepository sqlRepository,
+                                ObjectProvider<MemberColumnarEngine> columnarEngine,
+                                @Qualifier("applicationTaskExecutor") Executor searchExecutor) {
         this.queryFactory = queryFactory;
+        this.useReadModel = READ_MODEL_VIEW.equalsIgnoreCase(readModel);
+        this.useJdbcMapping = MAPPING_JDBC.equalsIgnoreCase(mapping);
+        this.jdbcRepository = jdbcRepository;
+        this.deferredJoinOffset = deferredJoinOffset;
+        this.sqlShapes = sqlShapes;
+        this.sqlRepository = sqlRepository;
+        this.columnarEngine = columnarEngine;
+        this.searchExecutor = searchExecutor;
     }
 
+    /**
+     * 공유된 결과는 여러 호출자가 함께 보므로 수정할 수 없는 List 로 반환
+     */
     @Override
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        MemberColumnarEngine columnar = freshColumnarEngine();
+        if (columnar != null) {
+            return Collections.unmodifiableList(columnar.search(condition));
+        }
+        return coalesce(searchFlight, condition.normalize(),
+                () -> Collections.unmodifiableList(doSearch(condition)));
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable) {
+        MemberColumnarEngine columnar = freshColumnarEngine();
+        if (columnar != null) {
+            return columnar.searchPage(condition, pageable);
+        }
+        return coalesce(searchPageFlight, new PageSearchKey(condition.normalize(), pageable),
+                () -> doSearchPage(condition, pageable));
+    }
+
+    /**
+     * pageSize + 1 건을 조회해서 다음 페이지 여부만 판단 (COUNT 쿼리를 실행하지 않는다)
+     * 내용 쿼리는 searchPage 와 같은 JPQL 이므로 같은 쿼리 플랜을 쓴다.
+     */
+    @Override
+    public Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable) {
+        MemberColumnarEngine columnar = freshColumnarEngine();
+        if (columnar != null) {
+            Page<MemberTeamDto> page = columnar.searchPage(condition, pageable);
+            return new SliceImpl<>(page.getContent(), pageable, page.hasNext());
+        }
+        MemberQueryEvent event = MemberQueryEvent.start("searchSlice", condition.shape());
+        int size = pageable.getPageSize();
+        List<MemberTeamDto> rows = event.fetch(() -> useReadModel
+                ? pageReadModel(condition, pageable.getOffset(), size + 1)
+                : pageJoin(condition, pageable.getOffset(), size + 1));
+        boolean hasNext = rows.size() > size;
+        List<MemberTeamDto> content = hasNext ? rows.subList(0, size) : rows;
+        event.finish(content.size());
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    /**
+     * username 하나 또는 teamName 하나만 다르고 나이 조건이 같은 검색들은 IN 쿼리 한 번으로 합쳐서 실행한 뒤
+     * 결과 행의 username/teamName 값으로 다시 나눈다. 나머지 검색은 각각 실행하되, 트랜잭션 밖이면 동시에 실행한다.
+     */
+    @Override
+    public Map<MemberSearchCondition, List<MemberTeamDto>> searchAll(Collection<MemberSearchCondition> conditions) {
+        if (freshColumnarEngine() != null) {
+            return MemberRepositoryCustom.super.searchAll(conditions);
+        }
+
+        Set<MemberSearchCondition> distinct = new LinkedHashSet<>();
+        conditions.forEach(condition -> distinct.add(condition.normalize()));
+
+        Map<BatchKey, List<MemberSearchCondition>> groups = new LinkedHashMap<>();
+        List<Supplier<Map<MemberSearchCondition, List<MemberTeamDto>>>> tasks = new ArrayList<>();
+        for (MemberSearchCondition condition : distinct) {
+            BatchKey key = BatchKey.of(condition);
+            if (key == null) {
+                tasks.add(() -> Map.of(condition, search(condition)));
+            } else {
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(condition);
+            }
+        }
+        groups.forEach((key, group) -> {
+            if (group.size() == 1) {
+                tasks.add(() -> Map.of(group.get(0), search(group.get(0))));
+                return;
+            }
+            for (int from = 0; from < group.size(); from += BATCH_IN_SIZE) {
+                List<MemberSearchCondition> chunk = group.subList(from, Math.min(group.size(), from + BATCH_IN_SIZE));
+                tasks.add(() -> searchBatch(key, chunk));
+            }
+        });
+
+        Map<MemberSearchCondition, List<MemberTeamDto>> found = runAll(tasks);
+        Map<MemberSearchCondition, List<MemberTeamDto>> results = new LinkedHashMap<>();
+        for (MemberSearchCondition condition : distinct) {
+            results.put(condition, found.getOrDefault(condition, List.of()));
+        }
+        return results;
+    }
+
+    /**
+     * 같은 BatchKey 의 검색들을 IN 쿼리 하나로 실행
+     * MySQL 기본 collation 은 대소문자와 악센트를 구분하지 않으므로 결과를 나눌 때도 같은 규칙의 MatchKeys 로 비교한다.
+     */
+    private Map<MemberSearchCondition, List<MemberTeamDto>> searchBatch(BatchKey key, List<MemberSearchCondition> group) {
+        List<String> values = group.stream().map(key.field()::of).toList();
+        MemberQueryEvent event = MemberQueryEvent.start("searchBatch", group.get(0).shape());
+        List<MemberTeamDto> rows = event.fetch(() -> useReadModel
+                ? queryFactory
+                        .select(readModelProjection())
+                        .from(memberTeamView)
+                        .where(
+                                key.field() == BatchField.USERNAME
+                                        ? memberTeamView.username.in(values)
+                                        : memberTeamView.teamName.in(values),
+                                key.ageGoe() != null ? memberTeamView.age.goe(key.ageGoe()) : null,
+                                key.ageLoe() != null ? memberTeamView.age.loe(key.ageLoe()) : null
+                        )
+                        .orderBy(memberTeamView.memberId.asc())
+                        .fetch()
+                : queryFactory
+                        .select(new QMemberTeamDto(
+                                member.id.as("memberId"),
+                                member.username,
+                                member.age,
+                                team.id.as("teamId"),
+                                team.name.as("teamName")
+                        ))
+                        .from(member)
+                        .leftJoin(member.team, team)
+                        .where(
+                                key.field() == BatchField.USERNAME ? member.username.in(values) : team.name.in(values),
+                                ageGoe(key.ageGoe()),
+                                ageLoe(key.ageLoe())
+                        )
+                        .orderBy(member.id.asc())
+                        .fetch());
+        event.finish(rows.size());
+
+        Map<String, List<MemberTeamDto>> byValue = new HashMap<>();
+        for (MemberTeamDto row : rows) {
+            byValue.computeIfAbsent(MatchKeys.of(key.field().of(row)), v -> new ArrayList<>()).add(row);
+        }
+        Map<MemberSearchCondition, List<MemberTeamDto>> results = new HashMap<>();
+        for (MemberSearchCondition condition : group) {
+            List<MemberTeamDto> matched = byValue.getOrDefault(MatchKeys.of(key.field().of(condition)), List.of());
+            results.put(condition, Collections.unmodifiableList(matched));
+        }
+        return results;
+    }
+
+    /**
+     * 트랜잭션 안에서는 같은 커넥션(영속성 컨텍스트)을 써야 하므로 순서대로 실행
+     * 동시에 실행할 때는 요청 처리 기한(Deadline)을 작업 스레드로 넘긴다.
+     */
+    private Map<MemberSearchCondition, List<MemberTeamDto>> runAll(
+            List<Supplier<Map<MemberSearchCondition, List<MemberTeamDto>>>> tasks) {
+        Map<MemberSearchCondition, List<MemberTeamDto>> results = new HashMap<>();
+        if (tasks.size() <= 1 || TransactionSynchronizationManager.isActualTransactionActive()) {
+            tasks.forEach(task -> results.putAll(task.get()));
+            return results;
+        }
+
+        Deadline deadline = Deadline.current().orElse(null);
+        List<CompletableFuture<Map<MemberSearchCondition, List<MemberTeamDto>>>> futures = tasks.stream()
+                .map(task -> CompletableFuture.supplyAsync(
+                        () -> deadline != null ? deadline.run(task) : task.get(), searchExecutor))
+                .toList();
+        try {
+            futures.forEach(future -> results.putAll(future.join()));
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * 메모리 컬럼 저장소는 커밋된 데이터만 갖고 있으므로 쓰기 트랜잭션 안이거나 stale 이면 사용하지 않는다.
+     */
+    private MemberColumnarEngine freshColumnarEngine() {
+        MemberColumnarEngine columnar = columnarEngine.getIfAvailable();
+        return columnar != null && !inWriteTransaction() && columnar.isFresh() ? columnar : null;
+    }
+
+    /**
+     * 쓰기 트랜잭션 안에서는 자신이 변경한(아직 커밋 전인) 데이터를 봐야 하므로 공유하지 않는다.
+     */
+    private <K, V> V coalesce(SingleFlight<K, V> flight, K key, Supplier<V> loader) {
+        if (inWriteTransaction()) {
+            return loader.get();
+        }
+        return flight.execute(key, loader);
+    }
+
+    private boolean inWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * 페이징과 같이 모든 전략이 member_id 순서로 반환한다 (메모리 컬럼 저장소의 결과 순서와도 같다)
+     */
+    private List<MemberTeamDto> doSearch(MemberSearchCondition condition) {
+        boolean sql = useSql(condition);
+        MemberQueryEvent event = MemberQueryEvent.start(sql ? "searchSql" : "search", condition.shape());
+        List<MemberTeamDto> result;
+        if (sql) {
+            result = event.fetch(() -> sqlRepository.search(condition));
+        } else if (useJdbcMapping) {
+            result = event.fetch(() -> jdbcRepository.search(searchSql(condition)));
+        } else {
+            result = event.fetch(
+                    () -> useReadModel ? searchReadModel(condition) : searchJoin(condition));
+        }
+        event.finish(result.size());
+        return result;
+    }
+
+    /**
+     * 모든 전략은 member_id 순서로 페이징한다 (offset 에 따라 전략이 바뀌어도 페이지가 겹치거나 빠지지 않도록)
+     */
+    private Page<MemberTeamDto> doSearchPage(MemberSearchCondition condition, Pageable pageable) {
+        boolean deferred = pageable.getOffset() >= deferredJoinOffset;
+        boolean sql = !deferred && useSql(condition);
+        MemberQueryEvent event = MemberQueryEvent.start(
+                deferred ? "searchPageDeferred" : sql ? "searchPageSql" : "searchPage", condition.shape());
+        Page<MemberTeamDto> result;
+        if (deferred) {
+            result = searchPageDeferred(condition, pageable, event);
+        } else if (sql) {
+            List<MemberTeamDto> content = event.fetch(() -> sqlRepository.findPage(condition, pageable));
+            result = getPage(content, pageable, () -> event.count(() -> sqlRepository.count(condition)));
+        } else if (useJdbcMapping) {
+            result = searchPageJdbc(condition, pageable, event);
+        } else {
+            result = useReadModel
+                    ? searchPageReadModel(condition, pageable, event)
+                    : searchPageJoin(condition, pageable, event);
+        }
+        event.finish(result.getNumberOfElements());
+        return result;
+    }
+
+    /**
+     * 깊은 OFFSET 페이지 (deferred join)
+     * 1. 같은 조건으로 member_id 만 페이징: 커버링 인덱스만 읽으므로 건너뛰는 offset 행은 테이블 행을 읽지 않는다
+     * 2. 그 id 들의 행만 team 과 조인해서 가져온다 (페이지 크기만큼만)
+     */
+    private Page<MemberTeamDto> searchPageDeferred(MemberSearchCondition condition, Pageable pageable, MemberQueryEvent event) {
+        List<MemberTeamDto> content = event.fetch(() -> {
+            List<Long> ids = useReadModel ? pageReadModelIds(condition, pageable) : pageMemberIds(condition, pageable);
+            if (ids.isEmpty()) {
+                return Collections.<MemberTeamDto>emptyList();
+            }
+            return useReadModel ? findReadModelByIds(ids) : findJoinByIds(ids);
+        });
+        return getPage(content, pageable,
+                () -> event.count(() -> useReadModel ? countReadModel(condition) : countJoin(condition)));
+    }
+
+    private List<Long> pageMemberIds(MemberSearchCondition condition, Pageable pageable) {
+        JPAQuery<Long> query = queryFactory
+                .select(member.id)
+                .from(member);
+        // 팀 이름 조건이 있을 때만 조인 (member 인덱스의 team_id 로 team 을 찾는다)
+        if (hasText(condition.getTeamName())) {
+            query.join(member.team, team);
+        }
+        return query
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+                .orderBy(member.id.asc())
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+    }
+
+    private List<Long> pageReadModelIds(MemberSearchCondition condition, Pageable pageable) {
+        return queryFactory
+                .select(memberTeamView.memberId)
+                .from(memberTeamView)
+                .where(readModelWhere(condition))
+                .orderBy(memberTeamView.memberId.asc())
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+    }
+
+    // ids 는 오름차순이므로 같은 순서로 정렬해서 가져오면 순서가 유지된다
+    private List<MemberTeamDto> findJoinByIds(List<Long> ids) {
         return queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
@@ -36,19 +389,60 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
                 ))
                 .from(member)
                 .leftJoin(member.team, team)
+                .where(member.id.in(ids))
+                .orderBy(member.id.asc())
+                .fetch();
+    }
+
+    private List<MemberTeamDto> findReadModelByIds(List<Long> ids) {
+        return queryFactory
+                .select(readModelProjection())
+                .from(memberTeamView)
+                .where(memberTeamView.memberId.in(ids))
+                .orderBy(memberTeamView.memberId.asc())
+                .fetch();
+    }
+
+    private long countJoin(MemberSearchCondition condition) {
+        Long count = queryFactory
+                .select(member.count())
+                .from(member)
+                .leftJoin(member.team, team)
                 .where(
                         usernameEq(condition.getUsername()),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe())
                 )
-                .fetch();
+                .fetchOne();
+        return count != null ? count : 0;
+    }
 
+    private long countReadModel(MemberSearchCondition condition) {
+        Long count = queryFactory
+                .select(memberTeamView.count())
+                .from(memberTeamView)
+                .where(readModelWhere(condition))
+                .fetchOne();
+        return count != null ? count : 0;
     }
 
-    @Override
-    public Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable) {
-        List<MemberTeamDto> content = queryFactory
+    private boolean useSql(MemberSearchCondition condition) {
+        return !sqlShapes.isEmpty() && (sqlShapes.contains("*") || sqlShapes.contains(condition.shape()));
+    }
+
+    private Page<MemberTeamDto> searchPageJdbc(MemberSearchCondition condition, Pageable pageable, MemberQueryEvent event) {
+        MemberSearchSql sql = searchSql(condition);
+        List<MemberTeamDto> content = event.fetch(() -> jdbcRepository.findPage(sql, pageable));
+        return getPage(content, pageable, () -> event.count(() -> jdbcRepository.count(sql)));
+    }
+
+    private MemberSearchSql searchSql(MemberSearchCondition condition) {
+        return useReadModel ? MemberSearchSql.readModel(condition) : MemberSearchSql.join(condition);
+    }
+
+    private List<MemberTeamDto> searchJoin(MemberSearchCondition condition) {
+        return queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -64,12 +458,24 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe())
                 )
-                .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
+                .orderBy(member.id.asc())
                 .fetch();
+    }
 
-        JPAQuery<Long> countQuery = queryFactory
-                .select(member.count())
+    private Page<MemberTeamDto> searchPageJoin(MemberSearchCondition condition, Pageable pageable, MemberQueryEvent event) {
+        List<MemberTeamDto> content = event.fetch(() -> pageJoin(condition, pageable.getOffset(), pageable.getPageSize()));
+        return getPage(content, pageable, () -> event.count(() -> countJoin(condition)));
+    }
+
+    private List<MemberTeamDto> pageJoin(MemberSearchCondition condition, long offset, int limit) {
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")
+                ))
                 .from(member)
                 .leftJoin(member.team, team)
                 .where(
@@ -77,10 +483,57 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe())
-                );
+                )
+                .orderBy(member.id.asc())
+                .offset(offset)
+                .limit(limit)
+                .fetch();
+    }
+
+    private List<MemberTeamDto> searchReadModel(MemberSearchCondition condition) {
+        return queryFactory
+                .select(readModelProjection())
+                .from(memberTeamView)
+                .where(readModelWhere(condition))
+                .orderBy(memberTeamView.memberId.asc())
+                .fetch();
+    }
+
+    private Page<MemberTeamDto> searchPageReadModel(MemberSearchCondition condition, Pageable pageable, MemberQueryEvent event) {
+        List<MemberTeamDto> content = event.fetch(() -> pageReadModel(condition, pageable.getOffset(), pageable.getPageSize()));
+        return getPage(content, pageable, () -> event.count(() -> countReadModel(condition)));
+    }
+
+    private List<MemberTeamDto> pageReadModel(MemberSearchCondition condition, long offset, int limit) {
+        return queryFactory
+                .select(readModelProjection())
+                .from(memberTeamView)
+                .where(readModelWhere(condition))
+                .orderBy(memberTeamView.memberId.asc())
+                .offset(offset)
+                .limit(limit)
+                .fetch();
+    }
 
-        return getPage(content, pageable, () -> countQuery.stream().count());
+    private QMemberTeamDto readModelProjection() {
+        return new QMemberTeamDto(
+                memberTeamView.memberId,
+                memberTeamView.username,
+                memberTeamView.age,
+                memberTeamView.teamId,
+                memberTeamView.teamName);
+    }
 
+    /**
+     * 조인 검색과 같은 조건을 비정규화 테이블 컬럼에 적용 (모든 조건이 커버링 인덱스로 처리된다)
+     */
+    private BooleanExpression[] readModelWhere(MemberSearchCondition condition) {
+        return new BooleanExpression[]{
+                hasText(condition.getUsername()) ? memberTeamView.username.eq(condition.getUsername()) : null,
+                hasText(condition.getTeamName()) ? memberTeamView.teamName.eq(condition.getTeamName()) : null,
+                condition.getAgeGoe() != null ? memberTeamView.age.goe(condition.getAgeGoe()) : null,
+                condition.getAgeLoe() != null ? memberTeamView.age.loe(condition.getAgeLoe()) : null
+        };
     }
 
     private BooleanExpression usernameEq(String username) {
@@ -99,4 +552,48 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
         return ageLoe != null ? member.age.loe(ageLoe) : null;
     }
 
+    private record PageSearchKey(MemberSearchCondition condition, Pageable pageable) {
+    }
+
+    private enum BatchField {
+        USERNAME {
+            String of(MemberSearchCondition condition) {
+                return condition.getUsername();
+            }
+
+            String of(MemberTeamDto row) {
+                return row.getUsername();
+            }
+        },
+        TEAM_NAME {
+            String of(MemberSearchCondition condition) {
+                return condition.getTeamName();
+            }
+
+            String of(MemberTeamDto row) {
+                return row.getTeamName();
+            }
+        };
+
+        abstract String of(MemberSearchCondition condition);
+
+        abstract String of(MemberTeamDto row);
+    }
+
+    /**
+     * IN 쿼리로 합칠 수 있는 검색의 묶음 기준 (정규화된 조건에 대해 사용)
+     */
+    private record BatchKey(BatchField field, Integer ageGoe, Integer ageLoe) {
+
+        static BatchKey of(MemberSearchCondition condition) {
+            boolean hasUsername = condition.getUsername() != null;
+            boolean hasTeamName = condition.getTeamName() != null;
+            if (hasUsername == hasTeamName) {
+                return null;
+            }
+            return new BatchKey(hasUsername ? BatchField.USERNAME : BatchField.TEAM_NAME,
+                    condition.getAgeGoe(), condition.getAgeLoe());
+        }
+    }
+
 }
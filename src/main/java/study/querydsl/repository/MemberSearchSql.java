@@ -0,0 +1,85 @@
+package study.querydsl.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import study.querydsl.dto.MemberSearchCondition;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * JDBC 로 직접 실행하는 회원 검색 SQL (MemberRepositoryImpl 의 QueryDSL 검색과 같은 조건, 값이 없는 조건은 무시)
+ * select() 의 컬럼 순서는 member_id, username, age, team_id, team_name 으로 고정 (MemberTeamDtoExtractor 가 순서로 읽는다)
+ */
+public final class MemberSearchSql {
+
+    private final String columns;
+    private final String from;
+    private final String idColumn;
+    private final StringBuilder where = new StringBuilder();
+    private final MapSqlParameterSource params = new MapSqlParameterSource();
+
+    private MemberSearchSql(MemberSearchCondition condition, String columns, String from, String idColumn,
+                            String usernameColumn, String teamNameColumn, String ageColumn) {
+        this.columns = columns;
+        this.from = from;
+        this.idColumn = idColumn;
+        if (hasText(condition.getUsername())) {
+            and(usernameColumn + " = :username", "username", condition.getUsername());
+        }
+        if (hasText(condition.getTeamName())) {
+            and(teamNameColumn + " = :teamName", "teamName", condition.getTeamName());
+        }
+        if (condition.getAgeGoe() != null) {
+            and(ageColumn + " >= :ageGoe", "ageGoe", condition.getAgeGoe());
+        }
+        if (condition.getAgeLoe() != null) {
+            and(ageColumn + " <= :ageLoe", "ageLoe", condition.getAgeLoe());
+        }
+    }
+
+    /**
+     * member m left join team t
+     */
+    public static MemberSearchSql join(MemberSearchCondition condition) {
+        return new MemberSearchSql(condition,
+                "select m.member_id, m.username, m.age, t.team_id, t.name as team_name",
+                " from member m left join team t on m.team_id = t.team_id",
+                "m.member_id",
+                "m.username", "t.name", "m.age");
+    }
+
+    /**
+     * 비정규화 테이블 member_team_view v
+     */
+    public static MemberSearchSql readModel(MemberSearchCondition condition) {
+        return new MemberSearchSql(condition,
+                "select v.member_id, v.username, v.age, v.team_id, v.team_name",
+                " from member_team_view v",
+                "v.member_id",
+                "v.username", "v.team_name", "v.age");
+    }
+
+    private void and(String predicate, String name, Object value) {
+        where.append(where.isEmpty() ? " where " : " and ").append(predicate);
+        params.addValue(name, value);
+    }
+
+    public String select() {
+        return columns + from + where;
+    }
+
+    /**
+     * 페이징 / 병합에 사용하는 정렬 (member_id 순서)
+     */
+    public String orderById() {
+        return " order by " + idColumn;
+    }
+
+    public String count() {
+        return "select count(*)" + from + where;
+    }
+
+    public MapSqlParameterSource params() {
+        return params;
+    }
+
+}
@@ -0,0 +1,96 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Wildcard;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+
+import java.util.List;
+
+import static org.springframework.data.support.PageableExecutionUtils.getPage;
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.sql.SMember.member;
+import static study.querydsl.sql.STeam.team;
+
+/**
+ * QueryDSL SQL(SQLQueryFactory)로 구현한 회원 검색 (MemberRepositoryImpl 과 같은 조건, 같은 결과)
+ * JPQL 변환, 엔티티 메타모델, 결과 변환을 거치지 않고 SQL 을 바로 만들어 MemberTeamDto 생성자로 매핑한다.
+ * member.search.sql-shapes 에 지정한 검색 조건 조합만 MemberRepositoryImpl 이 이쪽으로 실행한다.
+ */
+@Repository
+public class MemberSqlRepository implements MemberRepositoryCustom {
+
+    private final SQLQueryFactory queryFactory;
+    private final JpaFlush jpaFlush;
+
+    public MemberSqlRepository(SQLQueryFactory queryFactory, JpaFlush jpaFlush) {
+        this.queryFactory = queryFactory;
+        this.jpaFlush = jpaFlush;
+    }
+
+    @Override
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        jpaFlush.flushIfWriting();
+        return queryFactory
+                .select(projection())
+                .from(member)
+                .leftJoin(team).on(member.teamId.eq(team.teamId))
+                .where(where(condition))
+                .orderBy(member.memberId.asc())
+                .fetch();
+    }
+
+    /**
+     * MemberRepositoryImpl 과 같이 member_id 순서로 페이징
+     */
+    @Override
+    public Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable) {
+        return getPage(findPage(condition, pageable), pageable, () -> count(condition));
+    }
+
+    public List<MemberTeamDto> findPage(MemberSearchCondition condition, Pageable pageable) {
+        jpaFlush.flushIfWriting();
+        return queryFactory
+                .select(projection())
+                .from(member)
+                .leftJoin(team).on(member.teamId.eq(team.teamId))
+                .where(where(condition))
+                .orderBy(member.memberId.asc())
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+    }
+
+    public long count(MemberSearchCondition condition) {
+        jpaFlush.flushIfWriting();
+        SQLQuery<Long> query = queryFactory
+                .select(Wildcard.count)
+                .from(member);
+        // team_id 는 team 의 PK 를 가리키므로 팀 이름 조건이 없으면 조인해도 건수가 같다
+        if (hasText(condition.getTeamName())) {
+            query.join(team).on(member.teamId.eq(team.teamId));
+        }
+        Long count = query.where(where(condition)).fetchOne();
+        return count != null ? count : 0;
+    }
+
+    private QMemberTeamDto projection() {
+        return new QMemberTeamDto(member.memberId, member.username, member.age, team.teamId, team.name);
+    }
+
+    private BooleanExpression[] where(MemberSearchCondition condition) {
+        return new BooleanExpression[]{
+                hasText(condition.getUsername()) ? member.username.eq(condition.getUsername()) : null,
+                hasText(condition.getTeamName()) ? team.name.eq(condition.getTeamName()) : null,
+                condition.getAgeGoe() != null ? member.age.goe(condition.getAgeGoe()) : null,
+                condition.getAgeLoe() != null ? member.age.loe(condition.getAgeLoe()) : null
+        };
+    }
+
+}
@@ -0,0 +1,86 @@
+package study.querydsl.repository;
+
+import org.springframework.jdbc.core.ResultSetExtractor;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC 행에서 바로 MemberTeamDto 를 만드는 결과 매핑 (MemberSearchSql.select() 컬럼 순서)
+ * - 컬럼 이름 대신 순서로 읽고, Tuple/Object[] 같은 중간 객체를 만들지 않는다.
+ * - 한 결과 안에서 같은 팀은 teamId(Long), teamName(String) 인스턴스를 재사용한다.
+ *   이미 본 팀이면 team_name 컬럼은 읽지도 않으므로 문자열이 새로 만들어지지 않는다.
+ * 결과마다 새로 만들어 사용 (팀 캐시가 결과 단위)
+ */
+public class MemberTeamDtoExtractor implements ResultSetExtractor<List<MemberTeamDto>> {
+
+    // 한 페이지에 나오는 팀은 보통 몇 개뿐이라 선형 탐색으로 충분, 이보다 많으면 더 캐시하지 않는다
+    static final int MAX_CACHED_TEAMS = 64;
+
+    private final int expectedRows;
+
+    private final long[] teamIds = new long[MAX_CACHED_TEAMS];
+    private final Long[] boxedTeamIds = new Long[MAX_CACHED_TEAMS];
+    private final String[] teamNames = new String[MAX_CACHED_TEAMS];
+    private int teamCount;
+    private int lastHit = -1;
+
+    public MemberTeamDtoExtractor() {
+        this(16);
+    }
+
+    public MemberTeamDtoExtractor(int expectedRows) {
+        this.expectedRows = expectedRows;
+    }
+
+    @Override
+    public List<MemberTeamDto> extractData(ResultSet rs) throws SQLException {
+        List<MemberTeamDto> result = new ArrayList<>(expectedRows);
+        while (rs.next()) {
+            long memberId = rs.getLong(1);
+            String username = rs.getString(2);
+            int age = rs.getInt(3);
+            long teamId = rs.getLong(4);
+
+            if (rs.wasNull()) {
+                result.add(new MemberTeamDto(memberId, username, age, null, null));
+                continue;
+            }
+
+            int team = findTeam(teamId);
+            if (team >= 0) {
+                result.add(new MemberTeamDto(memberId, username, age, boxedTeamIds[team], teamNames[team]));
+                continue;
+            }
+
+            Long boxedTeamId = teamId;
+            String teamName = rs.getString(5);
+            if (teamCount < MAX_CACHED_TEAMS) {
+                teamIds[teamCount] = teamId;
+                boxedTeamIds[teamCount] = boxedTeamId;
+                teamNames[teamCount] = teamName;
+                lastHit = teamCount++;
+            }
+            result.add(new MemberTeamDto(memberId, username, age, boxedTeamId, teamName));
+        }
+        return result;
+    }
+
+    private int findTeam(long teamId) {
+        // 같은 팀의 행이 연달아 나오는 경우가 많으므로 직전에 찾은 팀부터 확인
+        if (lastHit >= 0 && teamIds[lastHit] == teamId) {
+            return lastHit;
+        }
+        for (int i = 0; i < teamCount; i++) {
+            if (teamIds[i] == teamId) {
+                lastHit = i;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,43 @@
+package study.querydsl.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.List;
+
+/**
+ * MemberSearchSql 을 JDBC 로 실행하고 MemberTeamDtoExtractor 로 매핑 (member.search.mapping=jdbc)
+ * JPA 와 같은 DataSource, 같은 트랜잭션(커넥션)을 사용한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberTeamJdbcRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JpaFlush jpaFlush;
+
+    public List<MemberTeamDto> search(MemberSearchSql sql) {
+        jpaFlush.flushIfWriting();
+        return jdbcTemplate.query(sql.select() + sql.orderById(), sql.params(), new MemberTeamDtoExtractor());
+    }
+
+    public List<MemberTeamDto> findPage(MemberSearchSql sql, Pageable pageable) {
+        jpaFlush.flushIfWriting();
+        MapSqlParameterSource params = new MapSqlParameterSource(sql.params().getValues())
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+        return jdbcTemplate.query(sql.select() + sql.orderById() + " limit :limit offset :offset", params,
+                new MemberTeamDtoExtractor(pageable.getPageSize()));
+    }
+
+    public long count(MemberSearchSql sql) {
+        jpaFlush.flushIfWriting();
+        Long count = jdbcTemplate.queryForObject(sql.count(), sql.params(), Long.class);
+        return count != null ? count : 0;
+    }
+
+}
@@ -0,0 +1,78 @@
+package study.querydsl.repository;
+
+import org.springframework.dao.QueryTimeoutException;
+import study.querydsl.deadline.Deadline;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 같은 key 로 동시에 들어온 호출은 먼저 들어온 호출(leader)의 결과를 함께 사용한다.
+ * 결과를 보관하지 않으므로 캐시와는 별개이며, leader 가 끝나면(성공/실패 모두) key 는 바로 제거된다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // 기다리던 호출에도 같은 예외 전달
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * 기다리는 호출은 자기 요청의 처리 기한(Deadline)까지만 기다린다.
+     * 기한이 지나면 JPA 쿼리 타임아웃과 같은 QueryTimeoutException 을 던진다.
+     */
+    private V await(CompletableFuture<V> call) {
+        Deadline deadline = Deadline.current().orElse(null);
+        try {
+            if (deadline == null) {
+                return call.join();
+            }
+            long remainingMillis = deadline.remainingMillis();
+            if (remainingMillis <= 0) {
+                throw new QueryTimeoutException("같은 검색의 결과를 기다리기 전에 요청 처리 기한이 지났습니다.");
+            }
+            return call.get(remainingMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("같은 검색의 결과를 요청 처리 기한 안에 받지 못했습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (CompletionException | ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+}
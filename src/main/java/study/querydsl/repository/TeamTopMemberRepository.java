@@ -0,0 +1,81 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.SQLExpressions;
+import com.querydsl.sql.SQLQueryFactory;
+import org.springframework.stereotype.Repository;
+import study.querydsl.dto.QTeamTopMemberDto;
+import study.querydsl.dto.TeamTopMemberDto;
+import study.querydsl.jfr.MemberQueryEvent;
+
+import java.util.List;
+
+import static study.querydsl.sql.SMember.member;
+import static study.querydsl.sql.STeam.team;
+
+/**
+ * 팀별 나이 상위 N명 (팀 평균 나이 포함)
+ * 회원마다 같은 팀을 다시 읽는 상관 서브쿼리 대신 윈도 함수로 member 를 한 번만 읽는다.
+ *
+ * <pre>
+ * select ... from (
+ *     select member_id, username, age, team_id,
+ *            row_number() over (partition by team_id order by age desc, member_id) as rn,
+ *            avg(age) over (partition by team_id) as team_avg_age
+ *     from member where team_id is not null) ranked
+ * join team on team.team_id = ranked.team_id
+ * where ranked.rn &lt;= ?
+ * </pre>
+ */
+@Repository
+public class TeamTopMemberRepository {
+
+    private static final PathBuilder<Object> ranked = new PathBuilder<>(Object.class, "ranked");
+    private static final NumberPath<Long> rankedMemberId = Expressions.numberPath(Long.class, ranked, "member_id");
+    private static final StringPath rankedUsername = Expressions.stringPath(ranked, "username");
+    private static final NumberPath<Integer> rankedAge = Expressions.numberPath(Integer.class, ranked, "age");
+    private static final NumberPath<Long> rankedTeamId = Expressions.numberPath(Long.class, ranked, "team_id");
+    private static final NumberPath<Long> rank = Expressions.numberPath(Long.class, ranked, "rn");
+    private static final NumberPath<Double> teamAvgAge = Expressions.numberPath(Double.class, ranked, "team_avg_age");
+
+    private final SQLQueryFactory queryFactory;
+    private final JpaFlush jpaFlush;
+
+    public TeamTopMemberRepository(SQLQueryFactory queryFactory, JpaFlush jpaFlush) {
+        this.queryFactory = queryFactory;
+        this.jpaFlush = jpaFlush;
+    }
+
+    /**
+     * 팀마다 나이가 많은 순(같으면 member_id 순)으로 perTeam 명, 팀 id 와 순위 순서로 반환
+     * 팀이 없는 회원은 제외
+     */
+    public List<TeamTopMemberDto> findTopMembers(int perTeam) {
+        jpaFlush.flushIfWriting();
+        MemberQueryEvent event = MemberQueryEvent.start("topMembers", "perTeam");
+        List<TeamTopMemberDto> result = event.fetch(() -> queryFactory
+                .select(new QTeamTopMemberDto(rankedTeamId, team.name, rankedMemberId, rankedUsername, rankedAge,
+                        rank, teamAvgAge))
+                .from(SQLExpressions
+                        .select(member.memberId, member.username, member.age, member.teamId,
+                                SQLExpressions.rowNumber().over()
+                                        .partitionBy(member.teamId)
+                                        .orderBy(member.age.desc(), member.memberId.asc())
+                                        .as(rank.getMetadata().getName()),
+                                SQLExpressions.avg(member.age).over()
+                                        .partitionBy(member.teamId)
+                                        .as(teamAvgAge.getMetadata().getName()))
+                        .from(member)
+                        .where(member.teamId.isNotNull()), ranked)
+                .join(team).on(team.teamId.eq(rankedTeamId))
+                .where(rank.loe((long) perTeam))
+                .orderBy(rankedTeamId.asc(), rank.asc())
+                .fetch());
+        event.finish(result.size());
+        return result;
+    }
+
+}
@@ -0,0 +1,299 @@
+package study.querydsl.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import study.querydsl.config.InstrumentedJdbcTemplate;
+import study.querydsl.deadline.Deadline;
+import study.querydsl.deadline.DeadlineExceededException;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.id.TimeOrderedIdGenerator;
+import study.querydsl.repository.MemberRepositoryCustom;
+import study.querydsl.repository.MemberSearchSql;
+import study.querydsl.repository.MemberTeamDtoExtractor;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import static org.springframework.data.support.PageableExecutionUtils.getPage;
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * team_id 기준으로 여러 DB 에 나눠 저장하는 회원 저장소
+ * - team 테이블은 모든 샤드에 복제 (작고 변경이 적음) → 어느 샤드에서나 teamName 으로 team_id 를 찾을 수 있다
+ * - member 는 floorMod(mix(team_id), 샤드 수) 샤드에 저장, 팀이 없으면 0번 샤드
+ * - teamName 조건이 있으면 해당 팀의 샤드만, 없으면 모든 샤드에 병렬로 조회한 뒤 member_id 순으로 병합
+ * - ID 는 샤드 간에 겹치지 않도록 시간순 ID 생성기를 사용
+ * - 샤드 DataSource 는 이 저장소가 소유하므로 close() 에서 함께 닫는다
+ */
+@Slf4j
+public class ShardedMemberRepository implements MemberRepositoryCustom, AutoCloseable {
+
+    private final List<DataSource> dataSources;
+    private final List<NamedParameterJdbcTemplate> shards;
+    private final TimeOrderedIdGenerator idGenerator;
+    private final ExecutorService executor;
+
+    public ShardedMemberRepository(List<DataSource> dataSources, TimeOrderedIdGenerator idGenerator) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("샤드가 하나 이상 필요합니다.");
+        }
+        this.dataSources = List.copyOf(dataSources);
+        // 요청 처리 기한(Deadline)을 쿼리 타임아웃으로 적용
+        this.shards = dataSources.stream()
+                .map(dataSource -> new NamedParameterJdbcTemplate(new InstrumentedJdbcTemplate(dataSource)))
+                .toList();
+        this.idGenerator = idGenerator;
+        this.executor = Executors.newFixedThreadPool(dataSources.size());
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    /**
+     * 시간순 ID 의 하위 22bit 는 노드 번호와 밀리초 내 순번(대부분 0)이라 그대로 나누면 거의 한 샤드로 몰린다.
+     * 모든 bit 를 섞은 뒤 나머지를 구한다.
+     */
+    public int shardOf(Long teamId) {
+        return teamId == null ? 0 : Math.floorMod(mix(teamId), shards.size());
+    }
+
+    /**
+     * MurmurHash3 fmix64
+     */
+    static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 팀은 모든 샤드에 저장 (샤드 간 원자성은 보장하지 않음)
+     */
+    public long saveTeam(String name) {
+        long teamId = idGenerator.nextId();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("teamId", teamId)
+                .addValue("name", name);
+        for (NamedParameterJdbcTemplate shard : shards) {
+            shard.update("insert into team (team_id, name) values (:teamId, :name)", params);
+        }
+        return teamId;
+    }
+
+    public long saveMember(String username, int age, Long teamId) {
+        long memberId = idGenerator.nextId();
+        shards.get(shardOf(teamId)).update(
+                "insert into member (member_id, username, age, team_id) values (:memberId, :username, :age, :teamId)",
+                new MapSqlParameterSource()
+                        .addValue("memberId", memberId)
+                        .addValue("username", username)
+                        .addValue("age", age)
+                        .addValue("teamId", teamId));
+        return memberId;
+    }
+
+    /**
+     * 팀을 바꾼다. 새 팀이 다른 샤드에 있으면 새 샤드에 먼저 넣고 원래 샤드에서 지운다.
+     * 샤드 간 원자성은 보장하지 않으므로 그 사이에는 두 샤드에서 모두 조회될 수 있다.
+     */
+    public void changeTeam(long memberId, Long teamId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("teamId", teamId);
+        int target = shardOf(teamId);
+        if (shards.get(target).update("update member set team_id = :teamId where member_id = :memberId", params) > 0) {
+            return;
+        }
+
+        for (int source = 0; source < shards.size(); source++) {
+            if (source == target) {
+                continue;
+            }
+            NamedParameterJdbcTemplate shard = shards.get(source);
+            List<Map<String, Object>> rows = shard.queryForList(
+                    "select username, age from member where member_id = :memberId", params);
+            if (rows.isEmpty()) {
+                continue;
+            }
+            shards.get(target).update(
+                    "insert into member (member_id, username, age, team_id) values (:memberId, :username, :age, :teamId)",
+                    new MapSqlParameterSource(params.getValues())
+                            .addValue("username", rows.get(0).get("username"))
+                            .addValue("age", rows.get(0).get("age")));
+            shard.update("delete from member where member_id = :memberId", params);
+            return;
+        }
+        throw new EmptyResultDataAccessException("회원이 없습니다: " + memberId, 1);
+    }
+
+    @Override
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        Set<Integer> targets = targetShards(condition);
+        MemberSearchSql query = MemberSearchSql.join(condition);
+        List<List<MemberTeamDto>> results = scatter(targets,
+                shard -> shard.query(query.select() + query.orderById(), query.params(), new MemberTeamDtoExtractor()));
+        return merge(results, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * 전역 정렬은 member_id 오름차순
+     * 각 샤드에서 offset + size 건씩 가져와 병합한 뒤 offset 만큼 건너뛴다. (offset 이 클수록 비용이 커짐)
+     */
+    @Override
+    public Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable) {
+        Set<Integer> targets = targetShards(condition);
+        MemberSearchSql query = MemberSearchSql.join(condition);
+        long fetch = pageable.getOffset() + pageable.getPageSize();
+        MapSqlParameterSource params = new MapSqlParameterSource(query.params().getValues()).addValue("limit", fetch);
+
+        List<List<MemberTeamDto>> results = scatter(targets,
+                shard -> shard.query(query.select() + query.orderById() + " limit :limit", params,
+                        new MemberTeamDtoExtractor((int) Math.min(fetch, 1024))));
+        List<MemberTeamDto> content = merge(results, pageable.getOffset(), pageable.getPageSize());
+
+        return getPage(content, pageable, () -> scatter(targets,
+                shard -> shard.queryForObject(query.count(), query.params(), Long.class))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum());
+    }
+
+    /**
+     * teamName 이 있으면 복제된 team 테이블에서 team_id 를 찾아 해당 샤드로만 라우팅
+     */
+    Set<Integer> targetShards(MemberSearchCondition condition) {
+        Set<Integer> targets = new TreeSet<>();
+        if (hasText(condition.getTeamName())) {
+            List<Long> teamIds = shards.get(0).queryForList("select team_id from team where name = :name",
+                    new MapSqlParameterSource("name", condition.getTeamName()), Long.class);
+            for (Long teamId : teamIds) {
+                targets.add(shardOf(teamId));
+            }
+            return targets;
+        }
+        for (int i = 0; i < shards.size(); i++) {
+            targets.add(i);
+        }
+        return targets;
+    }
+
+    private <T> List<T> scatter(Set<Integer> targets, Function<NamedParameterJdbcTemplate, T> work) {
+        if (targets.size() == 1) {
+            return List.of(work.apply(shards.get(targets.iterator().next())));
+        }
+        // 요청 스레드의 처리 기한을 샤드 조회 스레드에서도 적용
+        Deadline deadline = Deadline.current().orElse(null);
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (int index : targets) {
+            NamedParameterJdbcTemplate shard = shards.get(index);
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> deadline == null ? work.apply(shard) : deadline.run(() -> work.apply(shard)), executor));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(deadline == null
+                        ? future.join()
+                        : future.get(Math.max(0, deadline.remainingMillis()), TimeUnit.MILLISECONDS));
+            }
+        } catch (CompletionException | ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new DeadlineExceededException("샤드 조회가 처리 기한 안에 끝나지 않았습니다.", e);
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        return results;
+    }
+
+    /**
+     * 샤드별로 member_id 순 정렬된 결과를 k-way 병합
+     */
+    private List<MemberTeamDto> merge(List<List<MemberTeamDto>> sortedLists, long offset, long limit) {
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Comparator.comparing(cursor -> cursor.current().getMemberId()));
+        for (List<MemberTeamDto> list : sortedLists) {
+            if (!list.isEmpty()) {
+                queue.add(new Cursor(list));
+            }
+        }
+
+        List<MemberTeamDto> result = new ArrayList<>();
+        long skipped = 0;
+        while (!queue.isEmpty() && result.size() < limit) {
+            Cursor cursor = queue.poll();
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                result.add(cursor.current());
+            }
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("샤드 DataSource 를 닫지 못했습니다.", e);
+                }
+            }
+        }
+    }
+
+    private static final class Cursor {
+
+        private final List<MemberTeamDto> list;
+        private int index;
+
+        Cursor(List<MemberTeamDto> list) {
+            this.list = list;
+        }
+
+        MemberTeamDto current() {
+            return list.get(index);
+        }
+
+        boolean advance() {
+            return ++index < list.size();
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package study.querydsl.shard;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import study.querydsl.entity.id.TimeOrderedIdGenerator;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * member.sharding.enabled=true 일 때만 활성화 (기존 JPA DataSource 와는 별개의 샤드 DataSource 를 사용)
+ */
+@Configuration
+@ConditionalOnProperty(name = "member.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    ShardedMemberRepository shardedMemberRepository(ShardingProperties properties) {
+        List<DataSource> dataSources = properties.getShards().stream()
+                .map(shard -> (DataSource) DataSourceBuilder.create()
+                        .url(shard.getUrl())
+                        .username(shard.getUsername())
+                        .password(shard.getPassword())
+                        .build())
+                .toList();
+
+        if (properties.isInitSchema()) {
+            dataSources.forEach(ShardingConfig::initSchema);
+        }
+        return new ShardedMemberRepository(dataSources, new TimeOrderedIdGenerator(properties.getNodeId()));
+    }
+
+    static void initSchema(DataSource dataSource) {
+        DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("shard-schema.sql")), dataSource);
+    }
+
+}
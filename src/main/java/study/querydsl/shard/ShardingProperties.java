@@ -0,0 +1,25 @@
+package study.querydsl.shard;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties("member.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+    private boolean initSchema;
+    private int nodeId;
+    private List<Shard> shards = new ArrayList<>();
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+
+}
@@ -0,0 +1,122 @@
+package study.querydsl.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static study.querydsl.snapshot.MemberSnapshotFormat.*;
+
+/**
+ * FileChannel.map 으로 스냅샷 파일을 메모리에 매핑해서 읽는 reader
+ * 컬럼은 힙으로 복사하지 않고 매핑된 버퍼를 그대로 스캔한다. (thread-safe, 절대 위치 접근만 사용)
+ */
+public final class MemberSnapshot {
+
+    private final int rowCount;
+    private final LongBuffer memberIds;
+    private final IntBuffer ages;
+    private final LongBuffer teamIds;
+    private final IntBuffer usernameCodes;
+    private final IntBuffer teamNameCodes;
+    private final ByteBuffer usernameDictionary;
+    private final ByteBuffer teamNameDictionary;
+
+    private MemberSnapshot(MappedByteBuffer buffer) {
+        buffer.order(ORDER);
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("회원 스냅샷 파일이 아닙니다.");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 스냅샷 버전입니다: " + version);
+        }
+        this.rowCount = (int) buffer.getLong(8);
+
+        this.memberIds = section(buffer, MEMBER_ID).asLongBuffer().limit(rowCount);
+        this.ages = section(buffer, AGE).asIntBuffer().limit(rowCount);
+        this.teamIds = section(buffer, TEAM_ID).asLongBuffer().limit(rowCount);
+        this.usernameCodes = section(buffer, USERNAME_CODE).asIntBuffer().limit(rowCount);
+        this.teamNameCodes = section(buffer, TEAM_NAME_CODE).asIntBuffer().limit(rowCount);
+        this.usernameDictionary = section(buffer, USERNAME_DICTIONARY);
+        this.teamNameDictionary = section(buffer, TEAM_NAME_DICTIONARY);
+    }
+
+    public static MemberSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 채널을 닫아도 매핑은 유지된다
+            return new MemberSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public long memberId(int row) {
+        return memberIds.get(row);
+    }
+
+    public int age(int row) {
+        return ages.get(row);
+    }
+
+    public Long teamId(int row) {
+        long teamId = teamIds.get(row);
+        return teamId == NULL_ID ? null : teamId;
+    }
+
+    public String username(int row) {
+        return decode(usernameDictionary, usernameCodes.get(row));
+    }
+
+    public String teamName(int row) {
+        return decode(teamNameDictionary, teamNameCodes.get(row));
+    }
+
+    /**
+     * 스캔용 컬럼 뷰 (읽기 전용, 각 호출마다 독립된 position)
+     */
+    public IntBuffer ages() {
+        return ages.duplicate();
+    }
+
+    public LongBuffer teamIds() {
+        return teamIds.duplicate();
+    }
+
+    public long countByAgeBetween(int ageGoe, int ageLoe) {
+        long count = 0;
+        for (int i = 0; i < rowCount; i++) {
+            int age = ages.get(i);
+            if (age >= ageGoe && age <= ageLoe) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static ByteBuffer section(MappedByteBuffer buffer, int section) {
+        int offset = (int) buffer.getLong(16 + section * 8);
+        return buffer.slice(offset, buffer.capacity() - offset).order(ORDER);
+    }
+
+    private static String decode(ByteBuffer dictionary, int code) {
+        if (code == NULL_CODE) {
+            return null;
+        }
+        int count = dictionary.getInt(0);
+        int dataStart = 4 + 4 * (count + 1);
+        int from = dictionary.getInt(4 + 4 * code);
+        int to = dictionary.getInt(4 + 4 * (code + 1));
+        byte[] bytes = new byte[to - from];
+        dictionary.get(dataStart + from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,44 @@
+package study.querydsl.snapshot;
+
+import java.nio.ByteOrder;
+
+/**
+ * 회원 스냅샷 파일 레이아웃 (little endian, 각 섹션은 8바이트 정렬)
+ *
+ * header
+ *   int magic, int version, long rowCount
+ *   long offset x 7 : memberId, age, teamId, usernameCode, teamNameCode, username 사전, teamName 사전
+ * column
+ *   memberId long[rowCount], age int[rowCount], teamId long[rowCount] (없으면 -1)
+ *   usernameCode int[rowCount], teamNameCode int[rowCount] (없으면 -1)
+ * dictionary
+ *   int count, int[count + 1] 바이트 오프셋, UTF-8 바이트
+ */
+final class MemberSnapshotFormat {
+
+    static final int MAGIC = 0x4D534E50; // "MSNP"
+    static final int VERSION = 1;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int SECTION_COUNT = 7;
+    static final int HEADER_SIZE = 4 + 4 + 8 + SECTION_COUNT * 8;
+
+    static final int MEMBER_ID = 0;
+    static final int AGE = 1;
+    static final int TEAM_ID = 2;
+    static final int USERNAME_CODE = 3;
+    static final int TEAM_NAME_CODE = 4;
+    static final int USERNAME_DICTIONARY = 5;
+    static final int TEAM_NAME_DICTIONARY = 6;
+
+    static final int NULL_CODE = -1;
+    static final long NULL_ID = -1L;
+
+    private MemberSnapshotFormat() {
+    }
+
+    static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+}
@@ -0,0 +1,153 @@
+package study.querydsl.snapshot;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 분석용 회원 스냅샷 파일 생성
+ * 스냅샷마다 버전 번호(생성 시각)가 붙은 새 파일(members-&lt;version&gt;.snap)을 만들고 이후 내용을 바꾸지 않는다.
+ * 내려받는 중인 이전 스냅샷은 이름으로 다시 열어도(sendfile) 같은 내용이며, 교체된 지 retention-ms 가 지나면 삭제한다.
+ */
+@Slf4j
+@Service
+public class MemberSnapshotService {
+
+    private final JPAQueryFactory queryFactory;
+    private final Path directory;
+    private final String prefix;
+    private final String suffix;
+    private final long retentionMillis;
+
+    // 현재 스냅샷 파일 (아직 없으면 null)
+    private volatile Path current;
+
+    @Value("${member.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public MemberSnapshotService(JPAQueryFactory queryFactory,
+                                 @Value("${member.snapshot.file:snapshot/members.snap}") String snapshotFile,
+                                 @Value("${member.snapshot.retention-ms:600000}") long retentionMillis) {
+        this.queryFactory = queryFactory;
+        Path file = Path.of(snapshotFile).toAbsolutePath();
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        this.directory = file.getParent();
+        this.prefix = (dot < 0 ? name : name.substring(0, dot)) + "-";
+        this.suffix = dot < 0 ? "" : name.substring(dot);
+        this.retentionMillis = retentionMillis;
+        List<Long> versions = versions();
+        this.current = versions.isEmpty() ? null : versionFile(versions.get(versions.size() - 1));
+    }
+
+    /**
+     * 현재 스냅샷 파일. 반환된 파일의 내용은 바뀌지 않는다. (아직 만든 적이 없으면 null)
+     */
+    public Path getSnapshotFile() {
+        return current;
+    }
+
+    @Scheduled(cron = "${member.snapshot.cron:-}")
+    @Transactional(readOnly = true)
+    public Path refresh() throws IOException {
+        long start = System.currentTimeMillis();
+        MemberSnapshotWriter writer = new MemberSnapshotWriter();
+
+        try (Stream<Tuple> rows = queryFactory
+                .select(member.id, member.age, team.id, member.username, team.name)
+                .from(member)
+                .leftJoin(member.team, team)
+                .orderBy(member.id.asc())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .stream()) {
+            rows.forEach(row -> writer.add(
+                    row.get(member.id),
+                    row.get(member.age),
+                    row.get(team.id),
+                    row.get(member.username),
+                    row.get(team.name)));
+        }
+
+        Path snapshotFile;
+        synchronized (this) {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, prefix, suffix + ".tmp");
+            try {
+                writer.writeTo(tmp);
+                snapshotFile = versionFile(nextVersion());
+                Files.move(tmp, snapshotFile, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            current = snapshotFile;
+            deleteExpired();
+        }
+
+        log.info("member snapshot written. rows={}, file={}, {}ms",
+                writer.size(), snapshotFile, System.currentTimeMillis() - start);
+        return snapshotFile;
+    }
+
+    private long nextVersion() {
+        List<Long> versions = versions();
+        long last = versions.isEmpty() ? 0 : versions.get(versions.size() - 1);
+        return Math.max(System.currentTimeMillis(), last + 1);
+    }
+
+    /**
+     * 다음 버전이 만들어진 시각(= 다음 버전 번호)이 retention 보다 오래된 이전 버전 삭제
+     */
+    private void deleteExpired() throws IOException {
+        List<Long> versions = versions();
+        long expiredBefore = System.currentTimeMillis() - retentionMillis;
+        for (int i = 0; i < versions.size() - 1; i++) {
+            if (versions.get(i + 1) <= expiredBefore) {
+                Files.deleteIfExists(versionFile(versions.get(i)));
+            }
+        }
+    }
+
+    private Path versionFile(long version) {
+        return directory.resolve(prefix + version + suffix);
+    }
+
+    /**
+     * 디렉터리에 있는 스냅샷 버전 (오름차순)
+     */
+    private List<Long> versions() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<Long> versions = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .map(name -> name.substring(prefix.length(), name.length() - suffix.length()))
+                    .filter(version -> !version.isEmpty() && version.chars().allMatch(Character::isDigit))
+                    .forEach(version -> versions.add(Long.parseLong(version)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Collections.sort(versions);
+        return versions;
+    }
+
+}
@@ -0,0 +1,142 @@
+package study.querydsl.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static study.querydsl.snapshot.MemberSnapshotFormat.*;
+
+/**
+ * 행을 primitive 배열에 모은 뒤 고정 레이아웃의 컬럼 파일로 기록
+ */
+public class MemberSnapshotWriter {
+
+    private long[] memberIds = new long[1024];
+    private int[] ages = new int[1024];
+    private long[] teamIds = new long[1024];
+    private int[] usernameCodes = new int[1024];
+    private int[] teamNameCodes = new int[1024];
+    private int size;
+
+    private final Dictionary usernames = new Dictionary();
+    private final Dictionary teamNames = new Dictionary();
+
+    public void add(long memberId, int age, Long teamId, String username, String teamName) {
+        if (size == memberIds.length) {
+            int capacity = size * 2;
+            memberIds = Arrays.copyOf(memberIds, capacity);
+            ages = Arrays.copyOf(ages, capacity);
+            teamIds = Arrays.copyOf(teamIds, capacity);
+            usernameCodes = Arrays.copyOf(usernameCodes, capacity);
+            teamNameCodes = Arrays.copyOf(teamNameCodes, capacity);
+        }
+        memberIds[size] = memberId;
+        ages[size] = age;
+        teamIds[size] = teamId != null ? teamId : NULL_ID;
+        usernameCodes[size] = usernames.code(username);
+        teamNameCodes[size] = teamNames.code(teamName);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void writeTo(Path file) throws IOException {
+        long[] offsets = new long[SECTION_COUNT];
+        long position = align(HEADER_SIZE);
+        offsets[MEMBER_ID] = position;
+        position = align(position + 8L * size);
+        offsets[AGE] = position;
+        position = align(position + 4L * size);
+        offsets[TEAM_ID] = position;
+        position = align(position + 8L * size);
+        offsets[USERNAME_CODE] = position;
+        position = align(position + 4L * size);
+        offsets[TEAM_NAME_CODE] = position;
+        position = align(position + 4L * size);
+        offsets[USERNAME_DICTIONARY] = position;
+        position = align(position + usernames.byteSize());
+        offsets[TEAM_NAME_DICTIONARY] = position;
+        position = align(position + teamNames.byteSize());
+
+        if (position > Integer.MAX_VALUE) {
+            throw new IllegalStateException("스냅샷은 2GB 를 넘을 수 없습니다. size=" + position);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, position);
+            buffer.order(ORDER);
+
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(size);
+            for (long offset : offsets) {
+                buffer.putLong(offset);
+            }
+
+            buffer.position((int) offsets[MEMBER_ID]);
+            buffer.asLongBuffer().put(memberIds, 0, size);
+            buffer.position((int) offsets[AGE]);
+            buffer.asIntBuffer().put(ages, 0, size);
+            buffer.position((int) offsets[TEAM_ID]);
+            buffer.asLongBuffer().put(teamIds, 0, size);
+            buffer.position((int) offsets[USERNAME_CODE]);
+            buffer.asIntBuffer().put(usernameCodes, 0, size);
+            buffer.position((int) offsets[TEAM_NAME_CODE]);
+            buffer.asIntBuffer().put(teamNameCodes, 0, size);
+
+            buffer.position((int) offsets[USERNAME_DICTIONARY]);
+            usernames.writeTo(buffer);
+            buffer.position((int) offsets[TEAM_NAME_DICTIONARY]);
+            teamNames.writeTo(buffer);
+
+            buffer.force();
+        }
+    }
+
+    private static class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+        private long bytes;
+
+        int code(String value) {
+            if (value == null) {
+                return NULL_CODE;
+            }
+            return codes.computeIfAbsent(value, v -> {
+                byte[] encoded = v.getBytes(StandardCharsets.UTF_8);
+                values.add(encoded);
+                bytes += encoded.length;
+                return values.size() - 1;
+            });
+        }
+
+        long byteSize() {
+            return 4L + 4L * (values.size() + 1) + bytes;
+        }
+
+        void writeTo(ByteBuffer buffer) {
+            buffer.putInt(values.size());
+            int offset = 0;
+            buffer.putInt(offset);
+            for (byte[] value : values) {
+                offset += value.length;
+                buffer.putInt(offset);
+            }
+            for (byte[] value : values) {
+                buffer.put(value);
+            }
+        }
+    }
+
+}
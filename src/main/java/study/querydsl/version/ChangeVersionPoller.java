@@ -0,0 +1,154 @@
+package study.querydsl.version;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.ChangeVersion;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static study.querydsl.entity.QChangeVersion.changeVersion;
+
+/**
+ * change_version 테이블을 주기적으로 읽어서 다른 노드의 변경을 RemoteDataChangedEvent 로 발행 (외부 브로커 없이 노드 간 캐시 무효화)
+ * - 마지막으로 처리한 id 이후만 PK 범위로 읽고, 한 번의 polling 에서 읽은 변경은 합쳐서(중복 제거) 이벤트 하나로 발행
+ * - auto increment id 는 커밋 순서와 다를 수 있으므로, 비어 있는 id 가 있으면 gap-timeout 동안 그 앞에서 기다렸다가 다시 읽는다.
+ *   (id 는 커밋 직전에 할당되므로 gap 은 커밋에 걸리는 시간 동안만 생긴다. 롤백된 insert 의 id 는 영원히 비어 있다)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "member.coherence.enabled", havingValue = "true")
+public class ChangeVersionPoller {
+
+    // 한 번에 읽는 최대 행 수
+    static final int POLL_BATCH_SIZE = 1000;
+
+    private final JPAQueryFactory queryFactory;
+    private final EntityManager em;
+    private final TransactionTemplate readOnlyTx;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId;
+
+    @Value("${member.coherence.gap-timeout-ms:5000}")
+    private long gapTimeoutMillis;
+
+    @Value("${member.coherence.retention-ms:600000}")
+    private long retentionMillis;
+
+    // 이 id 까지는 모두 처리했거나 건너뛴 상태 (기동 시 start() 에서 정함)
+    private long floor;
+    // floor 이후에서 이미 처리한 id (다음 polling 에서 다시 읽혀도 발행하지 않는다)
+    private final TreeSet<Long> seen = new TreeSet<>();
+    // floor 바로 다음 id 가 비어 있는 것을 처음 본 시각
+    private long gapSince;
+
+    public ChangeVersionPoller(JPAQueryFactory queryFactory, EntityManager em, PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher, ChangeVersionRecorder recorder) {
+        this.queryFactory = queryFactory;
+        this.em = em;
+        this.eventPublisher = eventPublisher;
+        this.nodeId = recorder.nodeId();
+        this.tx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * 기동 전의 변경은 아직 캐시에 없으므로 현재 위치부터 시작
+     * 캐시(컬럼 저장소, 워밍업)가 DB 를 읽기 전에 정해야 그 사이의 다른 노드 변경을 놓치지 않는다.
+     * (첫 polling 에서 정하면 기동 후 첫 polling 전까지의 변경을 건너뛴다)
+     */
+    @PostConstruct
+    public synchronized void start() {
+        Long max = readOnlyTx.execute(status -> queryFactory
+                .select(changeVersion.id.max())
+                .from(changeVersion)
+                .fetchOne());
+        floor = max != null ? max : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${member.coherence.poll-ms:1000}")
+    public synchronized void poll() {
+
+        Map<String, Set<Long>> ids = new HashMap<>();
+        Set<String> bulkTypes = new HashSet<>();
+        long cursor = floor;
+        List<ChangeVersion> rows;
+        do {
+            long after = cursor;
+            rows = readOnlyTx.execute(status -> queryFactory
+                    .selectFrom(changeVersion)
+                    .where(changeVersion.id.gt(after))
+                    .orderBy(changeVersion.id.asc())
+                    .limit(POLL_BATCH_SIZE)
+                    .fetch());
+            for (ChangeVersion row : rows) {
+                cursor = row.getId();
+                if (!seen.add(row.getId()) || nodeId.equals(row.getNodeId())) {
+                    continue;
+                }
+                if (row.getEntityId() == null) {
+                    bulkTypes.add(row.getEntityType());
+                } else {
+                    ids.computeIfAbsent(row.getEntityType(), k -> new HashSet<>()).add(row.getEntityId());
+                }
+            }
+        } while (rows.size() == POLL_BATCH_SIZE);
+
+        advanceFloor(System.currentTimeMillis());
+
+        if (!ids.isEmpty() || !bulkTypes.isEmpty()) {
+            bulkTypes.forEach(ids::remove);
+            log.debug("remote data changed. ids={}, bulk={}", ids, bulkTypes);
+            eventPublisher.publishEvent(new RemoteDataChangedEvent(ids, bulkTypes));
+        }
+    }
+
+    private void advanceFloor(long now) {
+        while (!seen.isEmpty()) {
+            if (seen.remove(floor + 1)) {
+                floor++;
+                gapSince = 0;
+            } else if (gapSince == 0) {
+                gapSince = now;
+                return;
+            } else if (now - gapSince < gapTimeoutMillis) {
+                return;
+            } else {
+                // 아직 커밋되지 않은 것이 아니라 롤백 등으로 비어 있는 id 로 보고 건너뛴다
+                floor = seen.first() - 1;
+                gapSince = 0;
+            }
+        }
+    }
+
+    /**
+     * 모든 노드가 읽었을 만큼 오래된 기록 삭제 (어느 노드가 실행해도 같은 결과)
+     */
+    @Scheduled(fixedDelayString = "${member.coherence.purge-ms:60000}")
+    public void purge() {
+        long before = System.currentTimeMillis() - retentionMillis;
+        // bulk 연산으로 DataVersion 이 바뀌지 않도록 QueryDSL 대신 JPQL 로 삭제
+        Integer deleted = tx.execute(status -> em.createQuery("delete from ChangeVersion c where c.createdAt < :before")
+                .setParameter("before", before)
+                .executeUpdate());
+        if (deleted != null && deleted > 0) {
+            log.debug("purged {} change versions", deleted);
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+package study.querydsl.version;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Member, Team 변경을 change_version 테이블에 기록 (다른 노드의 ChangeVersionPoller 가 읽어서 캐시를 무효화)
+ * 트랜잭션 안의 변경을 모아서 커밋 직전에 같은 트랜잭션으로 한 번에 기록하므로 롤백된 변경은 남지 않는다.
+ * 같은 행의 여러 번 변경은 하나로 합친다.
+ */
+@Component
+@ConditionalOnProperty(name = "member.coherence.enabled", havingValue = "true")
+public class ChangeVersionRecorder {
+
+    // 한 트랜잭션에서 엔티티별로 이보다 많은 행이 바뀌면 bulk 변경 하나로 기록
+    public static final int MAX_IDS_PER_TRANSACTION = 100;
+
+    private static final String INSERT_SQL =
+            "insert into change_version (entity_type, entity_id, node_id, created_at) values (?, ?, ?, ?)";
+
+    private final EntityManager em;
+
+    // 이 노드(애플리케이션 컨텍스트)의 식별자
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public ChangeVersionRecorder(EntityManager em) {
+        this.em = em;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 엔티티 리스너에서 호출 (DataVersionListener)
+     */
+    public void changed(Object entity) {
+        Object id = em.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+        changed(entity.getClass(), id instanceof Long l ? l : null);
+    }
+
+    /**
+     * 바뀐 행을 알고 있는 bulk 연산에서 호출 (MemberBulkRepository)
+     */
+    public void changed(Class<?> type, Long id) {
+        Changes changes = current();
+        if (changes != null) {
+            changes.add(type.getSimpleName(), id);
+        }
+    }
+
+    /**
+     * bulk 연산에서 호출 (InstrumentedQueryFactory)
+     */
+    public void bulkChanged(Class<?> type) {
+        Changes changes = current();
+        if (changes != null) {
+            changes.add(type.getSimpleName(), null);
+        }
+    }
+
+    /**
+     * 엔티티 변경과 bulk 연산은 항상 트랜잭션 안에서 실행되므로 트랜잭션이 없으면 기록하지 않는다.
+     * SEQUENCE id 엔티티는 커밋 시점 flush 에서야 @PostPersist/@PostUpdate 가 불리고, 그 flush 는 Spring 의
+     * beforeCommit 이 끝난 뒤에 실행된다. 그래서 기록은 Hibernate 가 커밋 직전 flush 다음에 실행하는
+     * BeforeTransactionCompletionProcess 로 한다 (flush 중에 등록해도 같은 커밋에서 실행된다).
+     */
+    private Changes current() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            Changes created = new Changes();
+            TransactionSynchronizationManager.bindResource(this, created);
+            ActionQueue actionQueue = em.unwrap(SessionImplementor.class).getActionQueue();
+            actionQueue.registerProcess((BeforeTransactionCompletionProcess) session -> write(session, created));
+            // 롤백이면 위 process 는 실행되지 않으므로 정리는 완료 시점에 따로 한다
+            actionQueue.registerProcess((AfterTransactionCompletionProcess) (success, session) ->
+                    TransactionSynchronizationManager.unbindResourceIfPossible(this));
+            changes = created;
+        }
+        return changes;
+    }
+
+    /**
+     * 커밋 직전 flush 가 끝난 뒤라 엔티티로 저장하면 다시 flush 해야 하므로 같은 연결에서 JDBC 로 바로 insert
+     */
+    private void write(SharedSessionContractImplementor session, Changes changes) {
+        long now = System.currentTimeMillis();
+        session.doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                for (Map.Entry<String, Set<Long>> entry : changes.ids.entrySet()) {
+                    String type = entry.getKey();
+                    Set<Long> ids = entry.getValue();
+                    if (changes.bulkTypes.contains(type) || ids.size() > MAX_IDS_PER_TRANSACTION) {
+                        addRow(insert, type, null, now);
+                    } else {
+                        for (Long id : ids) {
+                            addRow(insert, type, id, now);
+                        }
+                    }
+                }
+                insert.executeBatch();
+            }
+        });
+    }
+
+    private void addRow(PreparedStatement insert, String type, Long id, long now) throws SQLException {
+        insert.setString(1, type);
+        if (id == null) {
+            insert.setNull(2, Types.BIGINT);
+        } else {
+            insert.setLong(2, id);
+        }
+        insert.setString(3, nodeId);
+        insert.setLong(4, now);
+        insert.addBatch();
+    }
+
+    private static class Changes {
+
+        private final Map<String, Set<Long>> ids = new LinkedHashMap<>();
+        private final Set<String> bulkTypes = new LinkedHashSet<>();
+
+        void add(String type, Long id) {
+            Set<Long> typeIds = ids.computeIfAbsent(type, k -> new LinkedHashSet<>());
+            if (id == null) {
+                bulkTypes.add(type);
+            } else if (!bulkTypes.contains(type)) {
+                typeIds.add(id);
+            }
+        }
+    }
+
+}
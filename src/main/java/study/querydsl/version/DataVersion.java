@@ -0,0 +1,78 @@
+package study.querydsl.version;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Member, Team 데이터가 바뀔 때마다 증가하는 버전
+ * ETag 계산에 사용되며, 조회 요청이 DB 를 거치지 않고 변경 여부를 판단할 수 있게 해준다.
+ */
+@Component
+public class DataVersion {
+
+    // 재시작 후 이전 ETag 와 우연히 같은 버전이 나오지 않도록 기동 시각부터 시작
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    // 엔티티 리스너를 거치지 않은 변경(bulk 연산) 횟수. 어떤 행이 바뀌었는지 모르는 캐시는 이 값으로 무효화를 판단
+    private final AtomicLong bulkVersion = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public long bulkVersion() {
+        return bulkVersion.get();
+    }
+
+    /**
+     * 변경 시점에 한 번, 커밋(롤백) 이후에 한 번 더 증가시킨다.
+     * 커밋 전에 옛 데이터를 읽은 조회가 새 버전으로 캐싱되는 것을 막기 위함
+     */
+    public void markChanged() {
+        bump();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump();
+                }
+            });
+        }
+    }
+
+    /**
+     * bulk 연산용. markChanged() 와 같은 시점에 bulkVersion 도 함께 증가시킨다.
+     */
+    public void markBulkChanged() {
+        bulkVersion.incrementAndGet();
+        markChanged();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bulkVersion.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * 다른 노드에서 커밋된 변경 (이미 커밋되었으므로 한 번만 증가)
+     */
+    @EventListener
+    public void remoteChanged(RemoteDataChangedEvent event) {
+        if (event.hasBulk()) {
+            bulkVersion.incrementAndGet();
+        }
+        bump();
+    }
+
+    private void bump() {
+        version.incrementAndGet();
+    }
+
+}
@@ -0,0 +1,30 @@
+package study.querydsl.version;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * 엔티티 변경 시 DataVersion 증가 (Hibernate 가 SpringBeanContainer 를 통해 생성자 주입)
+ * member.coherence.enabled=true 면 다른 노드가 볼 수 있도록 change_version 에도 기록
+ */
+public class DataVersionListener {
+
+    private final DataVersion dataVersion;
+    private final ObjectProvider<ChangeVersionRecorder> changeVersionRecorder;
+
+    public DataVersionListener(DataVersion dataVersion, ObjectProvider<ChangeVersionRecorder> changeVersionRecorder) {
+        this.dataVersion = dataVersion;
+        this.changeVersionRecorder = changeVersionRecorder;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        dataVersion.markChanged();
+        changeVersionRecorder.ifAvailable(recorder -> recorder.changed(entity));
+    }
+
+}
@@ -0,0 +1,28 @@
+package study.querydsl.version;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 다른 노드에서 커밋된 변경 (ChangeVersionPoller 가 한 번의 polling 결과를 모아서 발행)
+ * 캐시는 @EventListener 로 받아서 해당 항목만 무효화한다.
+ *
+ * @param ids       엔티티 이름(Member, Team)별 변경된 id
+ * @param bulkTypes 어떤 행이 바뀌었는지 모르는 변경(bulk 연산)이 있었던 엔티티 이름
+ */
+public record RemoteDataChangedEvent(Map<String, Set<Long>> ids, Set<String> bulkTypes) {
+
+    public Set<Long> ids(Class<?> type) {
+        return ids.getOrDefault(type.getSimpleName(), Collections.emptySet());
+    }
+
+    public boolean isBulk(Class<?> type) {
+        return bulkTypes.contains(type.getSimpleName());
+    }
+
+    public boolean hasBulk() {
+        return !bulkTypes.isEmpty();
+    }
+
+}
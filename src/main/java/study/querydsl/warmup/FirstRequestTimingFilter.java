@@ -0,0 +1,46 @@
+package study.querydsl.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 기동 후 첫 요청의 처리 시간을 기록 (워밍업 효과 확인용)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FirstRequestTimingFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean first = new AtomicBoolean(true);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!first.get() || !first.compareAndSet(true, false)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            meterRegistry.timer("app.first.request").record(nanos, TimeUnit.NANOSECONDS);
+            log.info("first request {} took {}ms", request.getRequestURI(), TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package study.querydsl.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.codec.MemberTeamBinaryCodec;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배포 직후 첫 요청들이 느린 문제(Hibernate 쿼리 플랜, Querydsl JPQL 직렬화, JIT 가 모두 cold)를 줄이기 위한 워밍업
+ * ApplicationRunner 는 readiness 가 ACCEPTING_TRAFFIC 이 되기 전에 실행되므로, 워밍업이 끝나야 트래픽을 받는다.
+ * 모든 검색 조건 조합(shape)과 프로젝션을 읽기 전용 트랜잭션에서 실행한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "member.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class SearchWarmup implements ApplicationRunner {
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTx;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${member.warmup.iterations:50}")
+    private int iterations;
+
+    private volatile long warmupMillis;
+
+    public SearchWarmup(MemberJpaRepository memberJpaRepository, MemberRepository memberRepository,
+                        ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.memberRepository = memberRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        List<MemberSearchCondition> shapes = allShapes();
+        try {
+            // 조건이 없는 검색은 실제 데이터를 읽으므로 반복하지 않고 한 번만
+            readOnlyTx.executeWithoutResult(status -> warmupUnfiltered());
+            for (int i = 0; i < iterations; i++) {
+                for (MemberSearchCondition condition : shapes) {
+                    readOnlyTx.executeWithoutResult(status -> warmup(condition));
+                }
+            }
+        } catch (Exception e) {
+            // 워밍업 실패로 기동이 막히지 않도록 경고만 남김
+            log.warn("search warm-up failed, continue startup", e);
+        }
+        warmupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        meterRegistry.timer("app.startup.warmup").record(warmupMillis, TimeUnit.MILLISECONDS);
+        log.info("search warm-up done. shapes={}, iterations={}, {}ms", shapes.size(), iterations, warmupMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ready(ApplicationReadyEvent event) {
+        log.info("application ready in {}ms (warm-up {}ms)", event.getTimeTaken().toMillis(), warmupMillis);
+    }
+
+    /**
+     * 전체 테이블 검색은 COUNT(*) 가 테이블 크기에 비례하므로 개수 없는 Slice 로 21건만 읽는다.
+     * (내용 쿼리는 searchPage 와 같은 JPQL 이라 쿼리 플랜도 함께 준비된다)
+     */
+    private void warmupUnfiltered() {
+        try {
+            var slice = memberRepository.searchSlice(new MemberSearchCondition(), PageRequest.of(0, 20));
+            objectMapper.writeValueAsBytes(slice.getContent());
+            MemberTeamBinaryCodec.encode(slice.getContent());
+        } catch (Exception e) {
+            throw new IllegalStateException("warm-up failed. shape=all", e);
+        }
+    }
+
+    private void warmup(MemberSearchCondition condition) {
+        try {
+            var v1 = memberJpaRepository.search(condition);
+            memberJpaRepository.searchByBuilder(condition);
+            memberRepository.search(condition);
+            var v2 = memberRepository.searchPage(condition, PageRequest.of(0, 20));
+
+            // 응답 직렬화 경로 (JSON, 바이너리)
+            objectMapper.writeValueAsBytes(v1);
+            objectMapper.writeValueAsBytes(v2);
+            MemberTeamBinaryCodec.encode(v1);
+            MemberTeamBinaryCodec.encode(v2);
+        } catch (Exception e) {
+            throw new IllegalStateException("warm-up failed. shape=" + condition.shape(), e);
+        }
+    }
+
+    /**
+     * username, teamName, ageGoe, ageLoe 중 하나 이상을 쓰는 15가지 조합 (조건이 없는 조합은 warmupUnfiltered)
+     * 실제 데이터와 겹치지 않는 값을 사용해서 가볍게 실행되도록 한다.
+     */
+    static List<MemberSearchCondition> allShapes() {
+        List<MemberSearchCondition> shapes = new ArrayList<>();
+        for (int mask = 1; mask < 16; mask++) {
+            MemberSearchCondition condition = new MemberSearchCondition();
+            if ((mask & 1) != 0) condition.setUsername("__warmup__");
+            if ((mask & 2) != 0) condition.setTeamName("__warmup__");
+            if ((mask & 4) != 0) condition.setAgeGoe(Integer.MAX_VALUE);
+            if ((mask & 8) != 0) condition.setAgeLoe(Integer.MIN_VALUE);
+            shapes.add(condition);
+        }
+        return shapes;
+    }
+
+}
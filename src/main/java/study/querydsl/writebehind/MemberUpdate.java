@@ -0,0 +1,49 @@
+package study.querydsl.writebehind;
+
+/**
+ * 한 회원에 대해 아직 DB 에 반영하지 않은 변경 (같은 항목은 마지막 값만 남는다)
+ */
+final class MemberUpdate {
+
+    static final byte AGE = 1;
+    static final byte TEAM = 2;
+
+    private Integer age;
+    private boolean teamChanged;
+    private Long teamId;
+
+    void apply(byte kind, Long value) {
+        if (kind == AGE) {
+            age = value.intValue();
+        } else {
+            teamChanged = true;
+            teamId = value;
+        }
+    }
+
+    /**
+     * 이 변경보다 먼저 들어온 변경을 합친다 (이미 값이 있는 항목은 유지)
+     */
+    void mergeOlder(MemberUpdate older) {
+        if (age == null) {
+            age = older.age;
+        }
+        if (!teamChanged && older.teamChanged) {
+            teamChanged = true;
+            teamId = older.teamId;
+        }
+    }
+
+    Integer age() {
+        return age;
+    }
+
+    boolean teamChanged() {
+        return teamChanged;
+    }
+
+    Long teamId() {
+        return teamId;
+    }
+
+}
@@ -0,0 +1,326 @@
+package study.querydsl.writebehind;
+
+import com.querydsl.core.types.dsl.CaseBuilder;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.columnar.MemberColumnarEngine;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.version.ChangeVersionRecorder;
+import study.querydsl.version.DataVersion;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 소수의 회원에게 몰리는 나이 변경, 팀 변경을 메모리에 모았다가 주기적으로 batch UPDATE 로 반영 (member.write-behind.enabled=true)
+ * - 회원별로 마지막 값만 남기므로 같은 회원을 여러 번 바꿔도 DB 에는 한 번만 쓴다 (행 잠금, 트랜잭션 수 감소)
+ * - 최대 지연: flush-ms (대기 중인 회원이 max-pending 이상이면 호출한 스레드가 바로 flush)
+ * - durability: memory 는 프로세스가 죽으면 반영 전 변경을 잃고, journal 은 로컬 파일에 기록한 뒤 반환해서 재기동 시 다시 반영
+ * - 종료 시 남은 변경을 모두 반영
+ * 반영 전에는 DB 조회에 이전 값이 보이며, 같은 항목을 엔티티로도 수정하면 나중에 flush 되는 쪽이 남는다.
+ * 바뀐 회원 id 를 알고 있으므로 MemberBulkRepository 처럼 그 id 들만 변경으로 기록한다. (2차 캐시, DataVersion, change_version, 컬럼 저장소)
+ * change_version 에 id 별로 남도록 한 트랜잭션에는 ChangeVersionRecorder.MAX_IDS_PER_TRANSACTION 명까지만 반영한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "member.write-behind.enabled", havingValue = "true")
+public class MemberWriteBehind {
+
+    static final String DURABILITY_JOURNAL = "journal";
+
+    // UPDATE 한 번에 넣는 최대 회원 수 (나이 CASE 식은 회원마다 파라미터 2개)
+    static final int UPDATE_BATCH_SIZE = 200;
+
+    private final EntityManager em;
+    private final DataVersion dataVersion;
+    private final ObjectProvider<ChangeVersionRecorder> changeVersionRecorder;
+    private final ObjectProvider<MemberColumnarEngine> columnarEngine;
+    private final TransactionTemplate tx;
+    private final int maxPending;
+
+    // 회원 id 로 나눈 구간별 lock + map (서로 다른 회원의 변경은 대부분 다른 lock 을 사용)
+    private final Stripe[] stripes;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    // 변경 기록(read lock)과 flush 의 map 교체, 저널 rotate(write lock)가 섞이지 않도록
+    private final ReentrantReadWriteLock rotation = new ReentrantReadWriteLock();
+
+    // durability=memory 면 null
+    private final WriteBehindJournal journal;
+    // DB 에 반영되면 삭제할 저널 파일
+    private final List<Path> sealedFiles = new ArrayList<>();
+
+    public MemberWriteBehind(EntityManager em, PlatformTransactionManager transactionManager, DataVersion dataVersion,
+                             ObjectProvider<ChangeVersionRecorder> changeVersionRecorder,
+                             ObjectProvider<MemberColumnarEngine> columnarEngine,
+                             @Value("${member.write-behind.stripes:64}") int stripes,
+                             @Value("${member.write-behind.max-pending:10000}") int maxPending,
+                             @Value("${member.write-behind.durability:memory}") String durability,
+                             @Value("${member.write-behind.journal-dir:write-behind}") String journalDir) throws IOException {
+        this.em = em;
+        this.dataVersion = dataVersion;
+        this.changeVersionRecorder = changeVersionRecorder;
+        this.columnarEngine = columnarEngine;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.maxPending = maxPending;
+        this.stripes = new Stripe[Integer.highestOneBit(Math.max(1, stripes - 1)) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.journal = DURABILITY_JOURNAL.equalsIgnoreCase(durability) ? new WriteBehindJournal(Path.of(journalDir)) : null;
+    }
+
+    /**
+     * 이전 실행에서 반영하지 못한 저널을 다시 반영
+     */
+    @PostConstruct
+    public void recover() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        List<Path> files = journal.sealedFiles();
+        if (files.isEmpty()) {
+            return;
+        }
+        for (Path file : files) {
+            WriteBehindJournal.read(file, this::put);
+        }
+        synchronized (this) {
+            sealedFiles.addAll(files);
+        }
+        log.info("recovering {} pending member updates from {} journal files", pendingCount.get(), files.size());
+        flush();
+    }
+
+    public void updateAge(long memberId, int age) {
+        enqueue(memberId, MemberUpdate.AGE, (long) age);
+    }
+
+    /**
+     * teamId 가 null 이면 팀 없음
+     */
+    public void changeTeam(long memberId, Long teamId) {
+        enqueue(memberId, MemberUpdate.TEAM, teamId);
+    }
+
+    public int pendingCount() {
+        return pendingCount.get();
+    }
+
+    private void enqueue(long memberId, byte kind, Long value) {
+        rotation.readLock().lock();
+        try {
+            if (journal != null) {
+                journal.append(memberId, kind, value);
+            }
+            put(memberId, kind, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("write-behind 저널 기록에 실패했습니다.", e);
+        } finally {
+            rotation.readLock().unlock();
+        }
+        if (pendingCount.get() >= maxPending) {
+            flush();
+        }
+    }
+
+    private void put(long memberId, byte kind, Long value) {
+        Stripe stripe = stripeOf(memberId);
+        stripe.lock.lock();
+        try {
+            MemberUpdate update = stripe.updates.get(memberId);
+            if (update == null) {
+                update = new MemberUpdate();
+                stripe.updates.put(memberId, update);
+                pendingCount.incrementAndGet();
+            }
+            update.apply(kind, value);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${member.write-behind.flush-ms:200}")
+    public synchronized void flush() {
+        Map<Long, MemberUpdate> drained = new HashMap<>();
+        rotation.writeLock().lock();
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    drained.putAll(stripe.updates);
+                    stripe.updates = new HashMap<>();
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+            pendingCount.addAndGet(-drained.size());
+            if (journal != null && !drained.isEmpty()) {
+                sealedFiles.add(journal.rotate());
+            }
+        } catch (IOException e) {
+            // 교체한 map 은 아래에서 다시 넣지 않으면 잃어버리므로 먼저 되돌린다
+            requeue(drained);
+            throw new UncheckedIOException("write-behind 저널 전환에 실패했습니다.", e);
+        } finally {
+            rotation.writeLock().unlock();
+        }
+
+        if (drained.isEmpty()) {
+            return;
+        }
+        List<Path> flushedFiles = new ArrayList<>(sealedFiles);
+        try {
+            // 이미 반영된 구간을 다시 넣어도 같은 값을 한 번 더 쓸 뿐이다
+            TreeMap<Long, MemberUpdate> sorted = new TreeMap<>(drained);
+            for (List<Long> ids : chunks(new ArrayList<>(sorted.keySet()), ChangeVersionRecorder.MAX_IDS_PER_TRANSACTION)) {
+                Map<Long, MemberUpdate> part = new LinkedHashMap<>();
+                ids.forEach(id -> part.put(id, sorted.get(id)));
+                tx.executeWithoutResult(status -> write(part));
+            }
+        } catch (RuntimeException e) {
+            // 저널 파일은 그대로 두고 다음 flush 에서 다시 시도
+            requeue(drained);
+            log.warn("write-behind flush failed. {} member updates will be retried.", drained.size(), e);
+            return;
+        }
+        try {
+            WriteBehindJournal.delete(flushedFiles);
+            sealedFiles.removeAll(flushedFiles);
+        } catch (IOException e) {
+            log.warn("failed to delete flushed write-behind journal files.", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flush();
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * 행 잠금 순서가 노드, 스레드 간에 같도록 id 순서로 UPDATE
+     */
+    private void write(Map<Long, MemberUpdate> updates) {
+        TreeMap<Long, Integer> ages = new TreeMap<>();
+        Map<Long, List<Long>> membersByTeam = new LinkedHashMap<>();
+        new TreeMap<>(updates).forEach((memberId, update) -> {
+            if (update.age() != null) {
+                ages.put(memberId, update.age());
+            }
+            if (update.teamChanged()) {
+                membersByTeam.computeIfAbsent(update.teamId(), k -> new ArrayList<>()).add(memberId);
+            }
+        });
+
+        List<Long> ageMemberIds = new ArrayList<>(ages.keySet());
+        for (List<Long> chunk : chunks(ageMemberIds, UPDATE_BATCH_SIZE)) {
+            // update member set age = case when member_id = ? then ? ... else age end where member_id in (...)
+            CaseBuilder.Cases<Integer, NumberExpression<Integer>> cases = null;
+            for (Long memberId : chunk) {
+                cases = cases == null
+                        ? new CaseBuilder().when(member.id.eq(memberId)).then(ages.get(memberId))
+                        : cases.when(member.id.eq(memberId)).then(ages.get(memberId));
+            }
+            new JPAUpdateClause(em, member)
+                    .set(member.age, cases.otherwise(member.age))
+                    .where(member.id.in(chunk))
+                    .execute();
+        }
+
+        // 팀 변경은 보통 몇 개 팀으로 모이므로 팀별로 UPDATE
+        membersByTeam.forEach((teamId, memberIds) -> {
+            for (List<Long> chunk : chunks(memberIds, UPDATE_BATCH_SIZE)) {
+                if (teamId == null) {
+                    new JPAUpdateClause(em, member).setNull(member.team).where(member.id.in(chunk)).execute();
+                } else {
+                    new JPAUpdateClause(em, member)
+                            .set(member.team, em.getReference(Team.class, teamId))
+                            .where(member.id.in(chunk))
+                            .execute();
+                }
+            }
+        });
+
+        changed(new ArrayList<>(new TreeMap<>(updates).keySet()));
+    }
+
+    /**
+     * InstrumentedQueryFactory 를 거치지 않았으므로 바뀐 회원만 직접 무효화 (MemberBulkRepository 와 같은 처리)
+     */
+    private void changed(List<Long> ids) {
+        for (Long id : ids) {
+            em.getEntityManagerFactory().getCache().evict(Member.class, id);
+        }
+        dataVersion.markChanged();
+        changeVersionRecorder.ifAvailable(recorder -> ids.forEach(id -> recorder.changed(Member.class, id)));
+        columnarEngine.ifAvailable(columnar -> columnar.membersChanged(ids));
+    }
+
+    /**
+     * 반영하지 못한 변경을 다시 넣는다 (그 사이 들어온 더 최신 변경이 우선)
+     */
+    private void requeue(Map<Long, MemberUpdate> drained) {
+        drained.forEach((memberId, older) -> {
+            Stripe stripe = stripeOf(memberId);
+            stripe.lock.lock();
+            try {
+                MemberUpdate newer = stripe.updates.get(memberId);
+                if (newer == null) {
+                    stripe.updates.put(memberId, older);
+                    pendingCount.incrementAndGet();
+                } else {
+                    newer.mergeOlder(older);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        });
+    }
+
+    private Stripe stripeOf(long memberId) {
+        // 연속된 id 가 같은 구간에 몰리지 않도록 섞는다
+        long h = memberId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h >>> 32) & (stripes.length - 1)];
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids, int size) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += size) {
+            chunks.add(ids.subList(from, Math.min(from + size, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private Map<Long, MemberUpdate> updates = new HashMap<>();
+    }
+
+}
@@ -0,0 +1,172 @@
+package study.querydsl.writebehind;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * write-behind 변경을 DB 에 반영하기 전에 기록하는 로컬 저널 (durability=journal)
+ * - 변경마다 고정 길이 레코드를 추가하고 force() 된 뒤에 반환 (프로세스, OS 가 죽어도 남는다)
+ * - group commit: 레코드 추가만 잠금 안에서 하고, force() 는 한 스레드가 그때까지 추가된 레코드를 모아서 한 번에 한다
+ * - flush 를 시작할 때 rotate() 로 현재 파일을 닫고, DB 반영이 끝나면 닫은 파일을 삭제
+ * - 기동 시 남아 있는 파일을 순서대로 다시 읽어서 반영 (recover)
+ */
+class WriteBehindJournal implements AutoCloseable {
+
+    // memberId(8) + kind(1) + hasValue(1) + value(8)
+    static final int RECORD_SIZE = 18;
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+
+    private final Path dir;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    // force() 는 한 번에 한 스레드만, 잠금 순서는 forceLock -> this
+    private final Object forceLock = new Object();
+    private long sequence;
+    // 추가된 레코드 수 (this 로 보호), 디스크에 반영된 레코드 수
+    private long appended;
+    private volatile long forced;
+    private Path current;
+    private FileChannel channel;
+
+    WriteBehindJournal(Path dir) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+        List<Path> existing = files();
+        sequence = existing.isEmpty() ? 0 : sequenceOf(existing.get(existing.size() - 1));
+        open();
+    }
+
+    /**
+     * 이전 실행에서 DB 에 반영하지 못한 파일 (기록된 순서)
+     */
+    synchronized List<Path> sealedFiles() throws IOException {
+        List<Path> files = files();
+        files.remove(current);
+        return files;
+    }
+
+    void append(long memberId, byte kind, Long value) throws IOException {
+        long position;
+        synchronized (this) {
+            record.clear();
+            record.putLong(memberId).put(kind).put((byte) (value != null ? 1 : 0)).putLong(value != null ? value : 0);
+            record.flip();
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            position = ++appended;
+        }
+        awaitForced(position);
+    }
+
+    /**
+     * position 까지의 레코드가 디스크에 반영될 때까지 대기
+     * - 앞선 스레드의 force() 가 끝나기를 기다리는 동안 추가된 레코드는 다음 force() 한 번으로 함께 반영된다
+     */
+    private void awaitForced(long position) throws IOException {
+        if (forced >= position) {
+            return;
+        }
+        synchronized (forceLock) {
+            if (forced >= position) {
+                return;
+            }
+            long upTo;
+            FileChannel target;
+            synchronized (this) {
+                upTo = appended;
+                target = channel;
+            }
+            // 추가는 막지 않고 force (rotate 는 forceLock 을 잡아야 하므로 target 은 닫히지 않는다)
+            target.force(false);
+            forced = upTo;
+        }
+    }
+
+    /**
+     * 현재 파일을 닫고 새 파일로 전환, 닫은 파일을 반환
+     */
+    Path rotate() throws IOException {
+        synchronized (forceLock) {
+            synchronized (this) {
+                Path sealed = current;
+                channel.force(false);
+                forced = appended;
+                channel.close();
+                open();
+                return sealed;
+            }
+        }
+    }
+
+    /**
+     * 파일의 레코드를 순서대로 전달 (마지막에 잘린 레코드는 쓰기 도중 종료된 것이므로 무시)
+     */
+    static void read(Path file, Replay replay) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        while (buffer.remaining() >= RECORD_SIZE) {
+            long memberId = buffer.getLong();
+            byte kind = buffer.get();
+            boolean hasValue = buffer.get() == 1;
+            long value = buffer.getLong();
+            replay.accept(memberId, kind, hasValue ? value : null);
+        }
+    }
+
+    static void delete(List<Path> files) throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (forceLock) {
+            synchronized (this) {
+                channel.force(false);
+                forced = appended;
+                channel.close();
+                // 비어 있는 현재 파일은 남길 필요가 없다
+                if (Files.size(current) == 0) {
+                    Files.delete(current);
+                }
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        current = dir.resolve(PREFIX + String.format("%019d", ++sequence) + SUFFIX);
+        channel = FileChannel.open(current, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> result = new ArrayList<>(files
+                    .filter(file -> file.getFileName().toString().startsWith(PREFIX))
+                    .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .toList());
+            result.sort(Comparator.comparingLong(WriteBehindJournal::sequenceOf));
+            return result;
+        }
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    @FunctionalInterface
+    interface Replay {
+        void accept(long memberId, byte kind, Long value);
+    }
+
+}
@@ -0,0 +1,19 @@
+-- ddl-auto=create 시 Hibernate 가 스키마 생성 후 실행 (운영 DB 에는 같은 내용을 마이그레이션으로 적용)
+-- member_team_view 는 아래 트리거로 엔티티 저장, changeTeam, bulk update/delete 모두 같은 트랜잭션에서 동기화된다
+
+create trigger trg_member_ai after insert on member for each row
+    replace into member_team_view (member_id, username, age, team_id, team_name)
+    values (new.member_id, new.username, new.age, new.team_id, (select t.name from team t where t.team_id = new.team_id));
+
+create trigger trg_member_au after update on member for each row
+    replace into member_team_view (member_id, username, age, team_id, team_name)
+    values (new.member_id, new.username, new.age, new.team_id, (select t.name from team t where t.team_id = new.team_id));
+
+create trigger trg_member_ad after delete on member for each row
+    delete from member_team_view where member_id = old.member_id;
+
+create trigger trg_team_au after update on team for each row
+    update member_team_view set team_name = new.name where team_id = new.team_id;
+
+create trigger trg_team_ad after delete on team for each row
+    update member_team_view set team_id = null, team_name = null where team_id = old.team_id;
@@ -0,0 +1,95 @@
+package study.querydsl.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberTeamBinaryCodecTest {
+
+    @Test
+    public void roundTripList() {
+        List<MemberTeamDto> rows = List.of(
+                new MemberTeamDto(1L, "member1", 10, 100L, "teamA"),
+                new MemberTeamDto(2L, "회원2", 20, 100L, "teamA"),
+                new MemberTeamDto(3L, null, 30, null, null));
+
+        MemberTeamBinaryCodec.Decoded decoded = MemberTeamBinaryCodec.decode(MemberTeamBinaryCodec.encode(rows));
+
+        assertThat(decoded.page()).isNull();
+        assertThat(decoded.content()).isEqualTo(rows);
+    }
+
+    @Test
+    public void roundTripPage() {
+        List<MemberTeamDto> rows = createRows(20);
+        PageImpl<MemberTeamDto> page = new PageImpl<>(rows, PageRequest.of(2, 20), 1000);
+
+        MemberTeamBinaryCodec.Decoded decoded = MemberTeamBinaryCodec.decode(MemberTeamBinaryCodec.encode(page));
+
+        assertThat(decoded.content()).isEqualTo(rows);
+        assertThat(decoded.page()).isEqualTo(new MemberTeamBinaryCodec.PageInfo(2, 20, 1000));
+    }
+
+    @Test
+    public void smallerThanJson() throws Exception {
+        List<MemberTeamDto> rows = createRows(1000);
+
+        byte[] json = new ObjectMapper().writeValueAsBytes(rows);
+        byte[] binary = MemberTeamBinaryCodec.encode(rows);
+
+        assertThat(binary.length).isLessThan(json.length / 3);
+    }
+
+    /**
+     * JSON 대비 전송 크기와 인코딩 시간 비교
+     * ./gradlew benchmark
+     */
+    @Tag("benchmark")
+    @Test
+    public void compareWithJson() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<MemberTeamDto> rows = createRows(1000);
+
+        byte[] json = objectMapper.writeValueAsBytes(rows);
+        byte[] binary = MemberTeamBinaryCodec.encode(rows);
+
+        // 워밍업
+        for (int i = 0; i < 200; i++) {
+            objectMapper.writeValueAsBytes(rows);
+            MemberTeamBinaryCodec.encode(rows);
+        }
+
+        long jsonStart = System.nanoTime();
+        for (int i = 0; i < 200; i++) {
+            objectMapper.writeValueAsBytes(rows);
+        }
+        long jsonNanos = (System.nanoTime() - jsonStart) / 200;
+
+        long binaryStart = System.nanoTime();
+        for (int i = 0; i < 200; i++) {
+            MemberTeamBinaryCodec.encode(rows);
+        }
+        long binaryNanos = (System.nanoTime() - binaryStart) / 200;
+
+        System.out.println("json bytes = " + json.length + ", encode = " + jsonNanos / 1000 + "us");
+        System.out.println("binary bytes = " + binary.length + ", encode = " + binaryNanos / 1000 + "us");
+    }
+
+    private List<MemberTeamDto> createRows(int count) {
+        List<MemberTeamDto> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long teamId = i % 2 == 0 ? 1L : 2L;
+            rows.add(new MemberTeamDto((long) i + 3, "member" + i, i, teamId, teamId == 1L ? "teamA" : "teamB"));
+        }
+        return rows;
+    }
+
+}
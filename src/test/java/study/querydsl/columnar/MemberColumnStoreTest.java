@@ -0,0 +1,199 @@
+package study.querydsl.columnar;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import study.querydsl.dto.MemberFacets;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberColumnStoreTest {
+
+    @Test
+    public void filters() {
+        MemberColumnStore store = createStore();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+        condition.setAgeGoe(35);
+        assertThat(store.search(condition)).containsExactly(new MemberTeamDto(4L, "member4", 40, 2L, "teamB"));
+
+        condition = new MemberSearchCondition();
+        condition.setUsername("member1");
+        assertThat(store.search(condition)).extracting("memberId").containsExactly(1L);
+
+        condition.setUsername("unknown");
+        assertThat(store.search(condition)).isEmpty();
+
+        assertThat(store.search(new MemberSearchCondition())).hasSize(5);
+    }
+
+    @Test
+    public void writes() {
+        MemberColumnStore store = createStore();
+
+        store.upsert(1L, "member1", 11, 2L, null);
+        store.putTeam(2L, "teamC");
+        store.remove(4L);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamC");
+        assertThat(store.search(condition)).containsExactly(
+                new MemberTeamDto(1L, "member1", 11, 2L, "teamC"),
+                new MemberTeamDto(3L, "member3", 30, 2L, "teamC"));
+        assertThat(store.size()).isEqualTo(4);
+    }
+
+    @Test
+    public void page() {
+        MemberColumnStore store = createStore();
+
+        Page<MemberTeamDto> page = store.searchPage(new MemberSearchCondition(), PageRequest.of(1, 2));
+
+        assertThat(page.getContent()).extracting("memberId").containsExactly(3L, 4L);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    public void facets() {
+        MemberColumnStore store = createStore();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        condition.setAgeGoe(20);
+
+        MemberFacets facets = store.facets(condition, 10);
+
+        assertThat(facets.getTotal()).isEqualTo(1);
+        // 팀 facet 은 팀 조건을 제외 (20살 이상)
+        assertThat(facets.getTeams()).containsExactly(
+                new MemberFacets.TeamCount(1L, "teamA", 1),
+                new MemberFacets.TeamCount(2L, "teamB", 2));
+        // 나이 facet 은 나이 조건을 제외 (teamA)
+        assertThat(facets.getAges()).containsExactly(
+                new MemberFacets.AgeBucketCount(10, 19, 1),
+                new MemberFacets.AgeBucketCount(20, 29, 1));
+    }
+
+    @Test
+    public void facetsFollowWrites() {
+        MemberColumnStore store = createStore();
+
+        store.upsert(1L, "member1", 45, 2L, null);
+        store.remove(3L);
+
+        MemberFacets facets = store.facets(new MemberSearchCondition(), 10);
+
+        assertThat(facets.getTotal()).isEqualTo(4);
+        assertThat(facets.getTeams()).containsExactly(
+                new MemberFacets.TeamCount(1L, "teamA", 1),
+                new MemberFacets.TeamCount(2L, "teamB", 2));
+        assertThat(facets.getAges()).extracting("ageFrom").containsExactly(20, 40, 50);
+        assertThat(facets.getAges()).extracting("count").containsExactly(1L, 2L, 1L);
+    }
+
+    /**
+     * MySQL 기본 collation 처럼 대소문자를 무시하고, 결과의 이름은 저장된 그대로 반환
+     */
+    @Test
+    public void namesIgnoreCase() {
+        MemberColumnStore store = createStore();
+        store.upsert(6L, "MEMBER1", 60, 1L, null);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("TEAMA");
+        assertThat(store.search(condition)).extracting("memberId").containsExactly(1L, 2L, 6L);
+
+        condition = new MemberSearchCondition();
+        condition.setUsername("Member1");
+        assertThat(store.search(condition)).extracting("username").containsExactly("member1", "MEMBER1");
+
+        condition.setTeamName("teama");
+        assertThat(store.facets(condition, 10).getTotal()).isEqualTo(2);
+    }
+
+    /**
+     * utf8mb4_0900_ai_ci 처럼 악센트도 무시
+     */
+    @Test
+    public void namesIgnoreAccents() {
+        MemberColumnStore store = createStore();
+        store.upsert(6L, "Mémber1", 60, 1L, null);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("member1");
+        assertThat(store.search(condition)).extracting("username").containsExactly("member1", "Mémber1");
+
+        condition = new MemberSearchCondition();
+        condition.setTeamName("téamá");
+        assertThat(store.search(condition)).extracting("memberId").containsExactly(1L, 2L, 6L);
+    }
+
+    /**
+     * 나중에 더 작은 memberId 가 추가되어도 DB 검색처럼 memberId 순으로 반환
+     */
+    @Test
+    public void resultsInMemberIdOrder() {
+        MemberColumnStore store = new MemberColumnStore(ForkJoinPool.commonPool(), 0);
+        store.putTeam(1L, "teamA");
+        store.upsert(10L, "member10", 10, 1L, null);
+        store.upsert(30L, "member30", 30, 1L, null);
+        store.upsert(20L, "member20", 20, 1L, null);
+        store.upsert(5L, "member5", 5, null, null);
+
+        assertThat(store.search(new MemberSearchCondition())).extracting("memberId")
+                .containsExactly(5L, 10L, 20L, 30L);
+        assertThat(store.searchPage(new MemberSearchCondition(), PageRequest.of(1, 2)).getContent())
+                .extracting("memberId")
+                .containsExactly(20L, 30L);
+    }
+
+    /**
+     * 여러 작업으로 나뉘는 크기에서도 순차 필터링과 같은 결과
+     */
+    @Test
+    public void parallelScan() {
+        int rows = MemberColumnStore.SCAN_CHUNK * 5 + 17;
+        MemberColumnStore store = new MemberColumnStore(ForkJoinPool.commonPool(), 0);
+        store.putTeam(1L, "teamA");
+        store.putTeam(2L, "teamB");
+        for (long id = 1; id <= rows; id++) {
+            store.upsert(id, "member" + (id % 1000), (int) (id % 100), id % 3 == 0 ? null : id % 2 + 1, null);
+        }
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+        condition.setAgeGoe(20);
+        condition.setAgeLoe(30);
+
+        List<Long> expected = LongStream.rangeClosed(1, rows)
+                .filter(id -> id % 3 != 0 && id % 2 == 1)
+                .filter(id -> id % 100 >= 20 && id % 100 <= 30)
+                .boxed()
+                .toList();
+
+        assertThat(store.search(condition)).extracting(MemberTeamDto::getMemberId).isEqualTo(expected);
+        assertThat(store.searchPage(condition, PageRequest.of(3, 100)).getContent())
+                .extracting(MemberTeamDto::getMemberId)
+                .isEqualTo(expected.subList(300, 400));
+    }
+
+    private MemberColumnStore createStore() {
+        MemberColumnStore store = new MemberColumnStore(ForkJoinPool.commonPool(), 0);
+        store.putTeam(1L, "teamA");
+        store.putTeam(2L, "teamB");
+        store.upsert(1L, "member1", 10, 1L, null);
+        store.upsert(2L, "member2", 20, 1L, null);
+        store.upsert(3L, "member3", 30, 2L, null);
+        store.upsert(4L, "member4", 40, 2L, null);
+        store.upsert(5L, "member5", 50, null, null);
+        return store;
+    }
+
+}
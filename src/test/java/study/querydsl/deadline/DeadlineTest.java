@@ -0,0 +1,36 @@
+package study.querydsl.deadline;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeadlineTest {
+
+    @Test
+    public void queryTimeoutIsRoundedUpToSeconds() {
+        assertThat(Deadline.after(Duration.ofMillis(300)).queryTimeoutSeconds()).isEqualTo(1);
+        assertThat(Deadline.after(Duration.ofMillis(2500)).queryTimeoutSeconds()).isEqualTo(3);
+    }
+
+    @Test
+    public void expiredDeadlineFailsBeforeQuery() {
+        Deadline deadline = Deadline.after(Duration.ZERO);
+
+        assertThat(deadline.isExpired()).isTrue();
+        assertThatThrownBy(deadline::queryTimeoutSeconds).isInstanceOf(DeadlineExceededException.class);
+    }
+
+    @Test
+    public void runBindsDeadlineToCurrentThread() {
+        Deadline deadline = Deadline.after(Duration.ofSeconds(1));
+
+        boolean bound = deadline.run(() -> Deadline.current().orElse(null) == deadline);
+
+        assertThat(bound).isTrue();
+        assertThat(Deadline.current()).isEmpty();
+    }
+
+}
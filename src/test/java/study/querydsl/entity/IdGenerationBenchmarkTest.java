@@ -0,0 +1,82 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * 여러 스레드에서 동시에 insert 할 때 ID 생성 방식별 처리량 비교
+ * - Member: pooled-lo 시퀀스 (allocationSize 100)
+ * - Hello: 애플리케이션 생성 시간순 ID
+ * ./gradlew benchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+class IdGenerationBenchmarkTest {
+
+    static final int THREADS = 8;
+    static final int INSERTS_PER_THREAD = 5_000;
+    static final int BATCH = 100;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void cleanup() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Hello").executeUpdate();
+        });
+    }
+
+    @Test
+    public void concurrentInserts() throws Exception {
+        run("pooled-lo sequence (Member)", i -> new Member("member" + i, i % 100));
+        run("time-ordered (Hello)", i -> new Hello());
+    }
+
+    private void run(String name, IntFunction<Object> factory) throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int from = 0; from < INSERTS_PER_THREAD; from += BATCH) {
+                        int batchStart = from;
+                        tx.executeWithoutResult(status -> {
+                            for (int i = batchStart; i < batchStart + BATCH; i++) {
+                                em.persist(factory.apply(i));
+                            }
+                        });
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        int total = THREADS * INSERTS_PER_THREAD;
+        System.out.printf("%s: %d inserts, %dms, %d inserts/s%n", name, total, millis, total * 1000L / Math.max(1, millis));
+    }
+
+}
@@ -2,12 +2,16 @@ package study.querydsl.entity;
 
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -47,4 +51,47 @@ class MemberTest {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * 회원 생성, 팀 이동 시 팀의 전체 회원 목록(Team.members)을 로딩하지 않아야 함
+     */
+    @Test
+    public void changeTeamDoesNotLoadTeamMembers() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        for (int i = 0; i < 1000; i++) {
+            em.persist(new Member("member" + i, i, teamA));
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Team findTeamA = em.find(Team.class, teamA.getId());
+        Team findTeamB = em.find(Team.class, teamB.getId());
+
+        Member newMember = new Member("newMember", 10, findTeamA);
+        em.persist(newMember);
+
+        Member movedMember = em.createQuery("select m from Member m where m.username = :username", Member.class)
+                .setParameter("username", "member0")
+                .getSingleResult();
+        movedMember.changeTeam(findTeamB);
+        em.flush();
+
+        assertThat(Hibernate.isInitialized(findTeamA.getMembers())).isFalse();
+        assertThat(Hibernate.isInitialized(findTeamB.getMembers())).isFalse();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(3);
+
+        // 나중에 로딩하면 DB 상태 + 아직 반영 대기 중인 add 가 합쳐진 일관된 목록
+        assertThat(findTeamA.getMembers()).contains(newMember).doesNotContain(movedMember);
+        assertThat(findTeamB.getMembers()).containsExactly(movedMember);
+
+        statistics.setStatisticsEnabled(false);
+    }
+
+}
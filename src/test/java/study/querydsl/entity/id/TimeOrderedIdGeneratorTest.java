@@ -0,0 +1,56 @@
+package study.querydsl.entity.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeOrderedIdGeneratorTest {
+
+    @Test
+    public void idsIncreaseAndCarryNodeId() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+        long nodeId = (previous >> TimeOrderedIdGenerator.SEQUENCE_BITS) & TimeOrderedIdGenerator.MAX_NODE_ID;
+        assertThat(nodeId).isEqualTo(7);
+    }
+
+    @Test
+    public void uniqueAcrossThreadsAndNodes() throws Exception {
+        TimeOrderedIdGenerator node1 = new TimeOrderedIdGenerator(1);
+        TimeOrderedIdGenerator node2 = new TimeOrderedIdGenerator(2);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            TimeOrderedIdGenerator generator = t % 2 == 0 ? node1 : node2;
+            executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(ids).hasSize(8 * 20_000);
+    }
+
+    @Test
+    public void rejectInvalidNodeId() {
+        assertThatThrownBy(() -> new TimeOrderedIdGenerator(1024)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,35 @@
+package study.querydsl.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportPartitionTest {
+
+    @Test
+    public void splitCoversWholeRangeWithoutGaps() {
+        List<ExportPartition> partitions = ExportPartition.split(1, 101, 3);
+
+        assertThat(partitions).hasSize(3);
+        assertThat(partitions.get(0).fromId()).isEqualTo(1);
+        assertThat(partitions.get(2).toId()).isEqualTo(101);
+        for (int i = 1; i < partitions.size(); i++) {
+            assertThat(partitions.get(i).fromId()).isEqualTo(partitions.get(i - 1).toId());
+        }
+    }
+
+    @Test
+    public void smallRangeUsesFewerPartitions() {
+        assertThat(ExportPartition.split(5, 7, 16)).hasSize(2);
+    }
+
+    @Test
+    public void planLineRoundTrip() {
+        ExportPartition partition = new ExportPartition(3, 100, 200);
+
+        assertThat(ExportPartition.parse(partition.format())).isEqualTo(partition);
+    }
+
+}
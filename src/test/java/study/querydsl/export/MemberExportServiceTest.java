@@ -0,0 +1,119 @@
+package study.querydsl.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 구간별 트랜잭션이 따로 커밋된 데이터를 읽으므로 테스트 데이터는 커밋 후 직접 정리
+ */
+@SpringBootTest
+class MemberExportServiceTest {
+
+    static final int ROWS = 40;
+
+    @TempDir
+    Path dir;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberExportService memberExportService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    TransactionTemplate tx;
+    List<Long> memberIds = new ArrayList<>();
+
+    @BeforeEach
+    public void before() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                Member m = new Member("export" + i, i);
+                em.persist(m);
+                em.flush();
+                memberIds.add(m.getId());
+            }
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        tx.executeWithoutResult(status -> em.createQuery("delete from Member m where m.id in :ids")
+                .setParameter("ids", memberIds)
+                .executeUpdate());
+    }
+
+    /**
+     * 한 구간이 실패해서 중단된 export 를 다시 실행하면 완료된 구간은 건너뛰고 나머지만 처리해서
+     * 모든 행이 정확히 한 번씩 합쳐져야 한다
+     */
+    @Test
+    public void resumeAfterFailureMergesEachRowOnce() throws Exception {
+        List<ExportPartition> plan = ExportPartition.split(memberIds.get(0), memberIds.get(ROWS - 1) + 1, 4);
+        Files.write(dir.resolve(MemberExportService.PLAN_FILE), plan.stream().map(ExportPartition::format).toList());
+
+        // 2번 구간의 .tmp 경로를 디렉터리로 막아서 그 구간만 실패시킨다
+        ExportPartition failing = plan.get(2);
+        Path blocker = Files.createDirectory(dir.resolve(failing.fileName() + ".tmp"));
+
+        assertThatThrownBy(() -> memberExportService.export(dir, 4, 2))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(dir.resolve(MemberExportService.MERGED_FILE)).doesNotExist();
+        assertThat(dir.resolve(plan.get(0).fileName())).exists();
+        assertThat(dir.resolve(failing.fileName())).doesNotExist();
+
+        // 완료된 구간은 다시 조회하지 않으므로 그 사이의 변경은 반영되지 않는다
+        Long firstId = memberIds.get(0);
+        tx.executeWithoutResult(status -> em.find(Member.class, firstId).setUsername("changed"));
+        Files.delete(blocker);
+
+        Path merged = memberExportService.export(dir, 4, 2);
+
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : Files.readAllLines(merged)) {
+            rows.add(objectMapper.readTree(line));
+        }
+        Map<Long, List<JsonNode>> byId = rows.stream()
+                .filter(row -> memberIds.contains(row.get("memberId").asLong()))
+                .collect(Collectors.groupingBy(row -> row.get("memberId").asLong()));
+
+        assertThat(byId).hasSize(ROWS);
+        assertThat(byId.values()).allSatisfy(sameId -> assertThat(sameId).hasSize(1));
+        assertThat(rows).extracting(row -> row.get("memberId").asLong()).doesNotHaveDuplicates().isSorted();
+        assertThat(byId.get(firstId).get(0).get("username").asText()).isEqualTo("export0");
+
+        // 합친 뒤에는 구간 파일과 plan 이 정리된다
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .containsExactly(MemberExportService.MERGED_FILE);
+        }
+    }
+
+}
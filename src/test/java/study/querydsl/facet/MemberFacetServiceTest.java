@@ -0,0 +1,55 @@
+package study.querydsl.facet;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberFacets;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "member.columnar.enabled=true")
+@Transactional
+class MemberFacetServiceTest {
+
+    @Autowired EntityManager em;
+    @Autowired MemberFacetService memberFacetService;
+
+    @Test
+    public void facetsFromDatabaseInWriteTransaction() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        condition.setAgeGoe(20);
+
+        MemberFacets facets = memberFacetService.facets(condition);
+
+        assertThat(facets.getTotal()).isEqualTo(1);
+        assertThat(facets.getTeams()).containsExactly(
+                new MemberFacets.TeamCount(teamA.getId(), "teamA", 1),
+                new MemberFacets.TeamCount(teamB.getId(), "teamB", 2));
+        assertThat(facets.getAges()).containsExactly(
+                new MemberFacets.AgeBucketCount(10, 19, 1),
+                new MemberFacets.AgeBucketCount(20, 29, 1));
+    }
+
+    @Test
+    public void ageBucketMustBePositive() {
+        assertThatThrownBy(() -> new MemberFacetService(null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,53 @@
+package study.querydsl.jfr;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrQueryReportTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void summarizeRecording() throws Exception {
+        Path file = dir.resolve("member.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(MemberQueryEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(MemberBulkEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+
+            for (int i = 0; i < 3; i++) {
+                MemberQueryEvent event = MemberQueryEvent.start("search", "teamName+ageGoe");
+                List<Integer> rows = event.fetch(() -> List.of(1, 2));
+                event.count(() -> 2L);
+                event.finish(rows.size());
+            }
+            MemberBulkEvent bulk = new MemberBulkEvent("update", "Member");
+            bulk.begin();
+            bulk.finish(10);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<JfrQueryReport.Row> rows = JfrQueryReport.summarize(file);
+
+        assertThat(rows).extracting(JfrQueryReport.Row::getKind, JfrQueryReport.Row::getMethod, JfrQueryReport.Row::getCount)
+                .containsExactlyInAnyOrder(
+                        org.assertj.core.groups.Tuple.tuple("query", "search", 3),
+                        org.assertj.core.groups.Tuple.tuple("bulk", "update", 1));
+        JfrQueryReport.Row search = rows.stream().filter(row -> row.getKind().equals("query")).findFirst().orElseThrow();
+        assertThat(search.getShape()).isEqualTo("teamName+ageGoe");
+        assertThat(search.getRows()).isEqualTo(6);
+
+        JfrQueryReport.print(rows, System.out);
+    }
+
+}
@@ -0,0 +1,84 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * offset 2 부터 deferred join 으로 조회되도록 기준을 낮춰서 일반 페이징과 결과가 이어지는지 확인
+ */
+@SpringBootTest(properties = "member.search.deferred-join-offset=2")
+@Transactional
+class DeferredJoinPageTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        for (int i = 1; i <= 7; i++) {
+            em.persist(new Member("member" + i, i * 10, i % 2 == 0 ? teamA : teamB));
+        }
+        em.persist(new Member("member8", 80));
+    }
+
+    @Test
+    public void pagesContinueAcrossStrategies() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        List<String> usernames = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            Page<MemberTeamDto> result = memberRepository.searchPage(condition, PageRequest.of(page, 3));
+            result.getContent().forEach(dto -> usernames.add(dto.getUsername()));
+            assertThat(result.getTotalElements()).isEqualTo(8);
+        }
+
+        assertThat(usernames).containsExactly(
+                "member1", "member2", "member3", "member4", "member5", "member6", "member7", "member8");
+    }
+
+    @Test
+    public void deferredPageWithCondition() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+        condition.setAgeGoe(20);
+
+        Page<MemberTeamDto> result = memberRepository.searchPage(condition, PageRequest.of(1, 2));
+
+        assertThat(result.getContent()).extracting("username").containsExactly("member7");
+        assertThat(result.getContent()).extracting("teamName").containsExactly("teamB");
+        assertThat(result.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    public void deferredPageWithoutTeam() {
+        Page<MemberTeamDto> result = memberRepository.searchPage(new MemberSearchCondition(), PageRequest.of(3, 2));
+
+        MemberTeamDto last = result.getContent().get(result.getContent().size() - 1);
+        assertThat(last.getUsername()).isEqualTo("member8");
+        assertThat(last.getTeamId()).isNull();
+    }
+
+}
@@ -0,0 +1,104 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class MemberBulkRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberBulkRepository memberBulkRepository;
+
+    Team teamA;
+    Team teamB;
+    Member member1;
+    Member member2;
+    Member member3;
+
+    @BeforeEach
+    public void before() {
+        teamA = new Team("teamA");
+        teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        member1 = new Member("member1", 10, teamA);
+        member2 = new Member("member2", 20, teamA);
+        member3 = new Member("member3", 30, teamB);
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+    }
+
+    @Test
+    public void updateRefreshesOnlyAffectedMembers() {
+        // 아직 flush 되지 않은 변경도 조건에 반영되어야 한다
+        member3.setAge(15);
+
+        long count = memberBulkRepository.update(member.age.lt(25),
+                update -> update.set(member.username, "비회원"));
+
+        assertThat(count).isEqualTo(3);
+        assertThat(member1.getUsername()).isEqualTo("비회원");
+        assertThat(member3.getUsername()).isEqualTo("비회원");
+        assertThat(member3.getAge()).isEqualTo(15);
+        // 관계없는 엔티티는 그대로 영속 상태
+        assertThat(em.contains(teamA)).isTrue();
+        assertThat(em.contains(member2)).isTrue();
+    }
+
+    @Test
+    public void updateUnrelatedMembersUntouched() {
+        member1.setUsername("changed");
+
+        memberBulkRepository.update(member.age.goe(30), update -> update.set(member.age, member.age.add(1)));
+
+        assertThat(member3.getAge()).isEqualTo(31);
+        // 조건에 맞지 않는 회원의 변경은 refresh 로 사라지지 않는다
+        assertThat(member1.getUsername()).isEqualTo("changed");
+        assertThat(member1.getAge()).isEqualTo(10);
+    }
+
+    @Test
+    public void updateTeamKeepsLoadedCollections() {
+        assertThat(teamA.getMembers()).containsExactly(member1, member2);
+
+        memberBulkRepository.update(member.username.eq("member1"), update -> update.set(member.team, teamB));
+
+        assertThat(member1.getTeam()).isSameAs(teamB);
+        assertThat(teamA.getMembers()).containsExactly(member2);
+        assertThat(teamB.getMembers()).contains(member1, member3);
+    }
+
+    @Test
+    public void deleteEvictsOnlyDeletedMembers() {
+        long count = memberBulkRepository.delete(member.age.gt(15));
+
+        assertThat(count).isEqualTo(2);
+        assertThat(em.contains(member2)).isFalse();
+        assertThat(em.contains(member3)).isFalse();
+        assertThat(em.contains(member1)).isTrue();
+        assertThat(teamA.getMembers()).containsExactly(member1);
+        assertThat(em.find(Member.class, member2.getId())).isNull();
+    }
+
+    @Test
+    public void noMatch() {
+        assertThat(memberBulkRepository.delete(member.age.gt(100))).isZero();
+        assertThat(em.contains(member1)).isTrue();
+    }
+
+}
@@ -0,0 +1,78 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberLoaderTest {
+
+    @Autowired EntityManager em;
+    @Autowired MemberJpaRepository memberJpaRepository;
+
+    @Test
+    public void loadManyInOneQuery() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Member member = new Member("member" + i, i);
+            em.persist(member);
+            ids.add(member.getId());
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        MemberLoader loader = new MemberLoader(memberJpaRepository);
+        List<Long> request = new ArrayList<>(ids);
+        Collections.reverse(request);
+        request.add(-1L);
+        request.add(ids.get(0));
+
+        List<Optional<Member>> result = loader.loadMany(request);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(result).hasSize(302);
+        assertThat(result.get(0).get().getId()).isEqualTo(ids.get(299));
+        assertThat(result.get(299).get().getId()).isEqualTo(ids.get(0));
+        assertThat(result.get(300)).isEmpty();
+        assertThat(result.get(301).get()).isSameAs(result.get(299).get());
+
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void loadIsCachedUntilDispatch() {
+        Member member = new Member("member1", 10);
+        em.persist(member);
+        em.flush();
+
+        MemberLoader loader = new MemberLoader(memberJpaRepository);
+        CompletableFuture<Optional<Member>> first = loader.load(member.getId());
+        CompletableFuture<Optional<Member>> second = loader.load(member.getId());
+
+        assertThat(second).isSameAs(first);
+        assertThat(first).isNotDone();
+
+        loader.dispatch();
+
+        assertThat(first.join()).contains(member);
+    }
+
+}
@@ -6,15 +6,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.deadline.Deadline;
+import study.querydsl.deadline.DeadlineExceededException;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
 import static study.querydsl.entity.QMember.member;
 
@@ -97,6 +103,94 @@ class MemberRepositoryTest {
                 .containsExactly("member1", "member2", "member3");
     }
 
+    @Test
+    public void searchAllTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        MemberSearchCondition byUsername1 = condition("member1", null, null, null);
+        MemberSearchCondition byUsername3 = condition("member3", null, null, null);
+        MemberSearchCondition byMissing = condition("member9", null, null, null);
+        MemberSearchCondition byTeamA = condition(null, "teamA", null, null);
+        MemberSearchCondition byTeamBOver35 = condition(null, "teamB", 35, null);
+        MemberSearchCondition byAge = condition(null, null, 20, 30);
+        // 빈 문자열 조건은 무시되므로 byUsername1 과 같은 검색
+        MemberSearchCondition duplicate = condition("member1", "", null, null);
+
+        Map<MemberSearchCondition, List<MemberTeamDto>> result = memberRepository.searchAll(
+                List.of(byUsername1, byUsername3, byMissing, byTeamA, byTeamBOver35, byAge, duplicate));
+
+        assertThat(result).hasSize(6);
+        assertThat(result.keySet()).first().isEqualTo(byUsername1.normalize());
+        assertThat(result.get(byUsername1.normalize())).extracting("username").containsExactly("member1");
+        assertThat(result.get(byUsername3.normalize())).extracting("username").containsExactly("member3");
+        assertThat(result.get(byMissing.normalize())).isEmpty();
+        assertThat(result.get(byTeamA.normalize())).extracting("username").containsExactlyInAnyOrder("member1", "member2");
+        assertThat(result.get(byTeamBOver35.normalize())).extracting("username").containsExactly("member4");
+        assertThat(result.get(byAge.normalize())).extracting("username").containsExactlyInAnyOrder("member2", "member3");
+    }
+
+    @Test
+    public void findByUsernameRespectsDeadline() {
+        Deadline expired = Deadline.after(Duration.ZERO);
+
+        assertThatThrownBy(() -> expired.run(() -> memberRepository.findByUsername("member1")))
+                .isInstanceOf(DeadlineExceededException.class);
+    }
+
+    @Test
+    public void searchSliceTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 1; i <= 5; i++) {
+            em.persist(new Member("member" + i, 10 * i, teamA));
+        }
+        MemberSearchCondition condition = condition(null, "teamA", null, null);
+
+        Slice<MemberTeamDto> first = memberRepository.searchSlice(condition, PageRequest.of(0, 3));
+        Slice<MemberTeamDto> last = memberRepository.searchSlice(condition, PageRequest.of(1, 3));
+
+        assertThat(first.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).extracting("username").containsExactly("member4", "member5");
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    public void searchAllIgnoresCaseAndAccents() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("José", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+
+        MemberSearchCondition plain = condition("jose", null, null, null);
+        MemberSearchCondition upper = condition("JOSÉ", null, null, null);
+        MemberSearchCondition other = condition("member2", null, null, null);
+
+        Map<MemberSearchCondition, List<MemberTeamDto>> result = memberRepository.searchAll(List.of(plain, upper, other));
+
+        // DB collation(utf8mb4_0900_ai_ci) 과 같은 규칙으로 나눈다
+        assertThat(result.get(plain.normalize())).extracting("username").containsExactly("José");
+        assertThat(result.get(upper.normalize())).extracting("username").containsExactly("José");
+        assertThat(result.get(other.normalize())).extracting("username").containsExactly("member2");
+    }
+
+    private MemberSearchCondition condition(String username, String teamName, Integer ageGoe, Integer ageLoe) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername(username);
+        condition.setTeamName(teamName);
+        condition.setAgeGoe(ageGoe);
+        condition.setAgeLoe(ageLoe);
+        return condition;
+    }
+
     @Test
     public void querydslPredicateExecutorTest() {
         Team teamA = new Team("teamA");
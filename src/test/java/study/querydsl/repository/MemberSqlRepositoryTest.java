@@ -0,0 +1,103 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberSqlRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberSqlRepository sqlRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        // flush 하지 않아도 검색 전에 반영되어야 한다
+        for (int i = 1; i <= 7; i++) {
+            em.persist(new Member("member" + i, i * 10, i % 2 == 0 ? teamA : teamB));
+        }
+        em.persist(new Member("member8", 80));
+    }
+
+    @Test
+    public void sameResultAsJpa() {
+        for (MemberSearchCondition condition : conditions()) {
+            assertThat(sorted(sqlRepository.search(condition)))
+                    .as(condition.shape())
+                    .isEqualTo(sorted(memberRepository.search(condition)));
+        }
+    }
+
+    @Test
+    public void samePagesAsJpa() {
+        for (MemberSearchCondition condition : conditions()) {
+            for (int page = 0; page < 3; page++) {
+                Page<MemberTeamDto> sql = sqlRepository.searchPage(condition, PageRequest.of(page, 3));
+                Page<MemberTeamDto> jpa = memberRepository.searchPage(condition, PageRequest.of(page, 3));
+
+                assertThat(sql.getContent()).as(condition.shape()).isEqualTo(jpa.getContent());
+                assertThat(sql.getTotalElements()).as(condition.shape()).isEqualTo(jpa.getTotalElements());
+            }
+        }
+    }
+
+    @Test
+    public void memberWithoutTeam() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("member8");
+
+        List<MemberTeamDto> result = sqlRepository.search(condition);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getTeamId()).isNull();
+        assertThat(result.get(0).getTeamName()).isNull();
+    }
+
+    private List<MemberSearchCondition> conditions() {
+        MemberSearchCondition all = new MemberSearchCondition();
+
+        MemberSearchCondition username = new MemberSearchCondition();
+        username.setUsername("member3");
+
+        MemberSearchCondition teamAge = new MemberSearchCondition();
+        teamAge.setTeamName("teamB");
+        teamAge.setAgeGoe(20);
+        teamAge.setAgeLoe(60);
+
+        MemberSearchCondition age = new MemberSearchCondition();
+        age.setAgeGoe(30);
+
+        return List.of(all, username, teamAge, age);
+    }
+
+    private List<MemberTeamDto> sorted(List<MemberTeamDto> rows) {
+        return rows.stream().sorted(Comparator.comparing(MemberTeamDto::getMemberId)).toList();
+    }
+
+}
@@ -0,0 +1,79 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberTeamJdbcRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberTeamJdbcRepository jdbcRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        // flush 하지 않아도 검색 전에 반영되어야 한다
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("member5", 50));
+    }
+
+    @Test
+    public void search() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+        condition.setAgeGoe(35);
+
+        List<MemberTeamDto> result = jdbcRepository.search(MemberSearchSql.join(condition));
+
+        assertThat(result).extracting("username").containsExactly("member4");
+        assertThat(result).extracting("teamName").containsExactly("teamB");
+    }
+
+    @Test
+    public void sameTeamSharesInstances() {
+        List<MemberTeamDto> result = jdbcRepository.search(MemberSearchSql.join(new MemberSearchCondition()));
+
+        assertThat(result).hasSize(5);
+        List<MemberTeamDto> teamA = result.stream().filter(dto -> "teamA".equals(dto.getTeamName())).toList();
+        assertThat(teamA).hasSize(2);
+        assertThat(teamA.get(0).getTeamId()).isSameAs(teamA.get(1).getTeamId());
+        assertThat(teamA.get(0).getTeamName()).isSameAs(teamA.get(1).getTeamName());
+
+        MemberTeamDto noTeam = result.stream().filter(dto -> dto.getUsername().equals("member5")).findFirst().get();
+        assertThat(noTeam.getTeamId()).isNull();
+        assertThat(noTeam.getTeamName()).isNull();
+    }
+
+    @Test
+    public void page() {
+        MemberSearchSql sql = MemberSearchSql.join(new MemberSearchCondition());
+
+        assertThat(jdbcRepository.findPage(sql, PageRequest.of(1, 2))).hasSize(2);
+        assertThat(jdbcRepository.count(sql)).isEqualTo(5);
+    }
+
+}
@@ -0,0 +1,99 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * member_team_view 가 엔티티 저장, changeTeam, bulk 연산 후에도 조인 결과와 같은지 확인
+ */
+@SpringBootTest(properties = "member.search.read-model=view")
+@Transactional
+class MemberTeamViewTest {
+
+    @Autowired EntityManager em;
+    @Autowired JPAQueryFactory queryFactory;
+    @Autowired MemberRepository memberRepository;
+
+    Team teamA;
+    Team teamB;
+    Member member1;
+
+    @BeforeEach
+    public void before() {
+        teamA = new Team("teamA");
+        teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        member1 = new Member("member1", 10, teamA);
+        em.persist(member1);
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+    }
+
+    @Test
+    public void searchFromReadModel() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+        condition.setAgeGoe(35);
+
+        List<MemberTeamDto> result = memberRepository.search(condition);
+
+        assertThat(result).extracting("username").containsExactly("member4");
+        assertThat(result.get(0).getTeamId()).isEqualTo(teamB.getId());
+    }
+
+    @Test
+    public void searchPageFromReadModel() {
+        Page<MemberTeamDto> result = memberRepository.searchPage(new MemberSearchCondition(), PageRequest.of(0, 3));
+
+        assertThat(result.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
+        assertThat(result.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    public void changeTeamAndRename() {
+        member1.changeTeam(teamB);
+        teamB.setName("teamC");
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamC");
+
+        assertThat(memberRepository.search(condition))
+                .extracting("username")
+                .containsExactly("member1", "member3", "member4");
+    }
+
+    @Test
+    public void bulkUpdateAndDelete() {
+        queryFactory.update(member)
+                .set(member.age, member.age.add(1))
+                .where(member.age.lt(25))
+                .execute();
+        queryFactory.delete(member)
+                .where(member.username.eq("member4"))
+                .execute();
+
+        List<MemberTeamDto> result = memberRepository.search(new MemberSearchCondition());
+
+        assertThat(result).extracting("age").containsExactly(11, 21, 30);
+    }
+
+}
@@ -0,0 +1,92 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 10만 건 로딩 시 일반 조회와 read-only 조회의 메모리 / 지연 시간 / flush(변경 감지) 비용 비교
+ * ./gradlew benchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.jdbc.batch_size=1000")
+@Transactional
+class ReadOnlyQueryBenchmarkTest {
+
+    static final int ROWS = 100_000;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 0; i < ROWS; i++) {
+            em.persist(new Member("member" + i, i % 100, teamA));
+            if (i % 1000 == 999) {
+                em.flush();
+                em.clear();
+                teamA = em.getReference(Team.class, teamA.getId());
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void managedVsReadOnly() {
+        Session session = em.unwrap(Session.class);
+
+        Result managed = measure("managed", () -> em.createQuery("select m from Member m", Member.class).getResultList());
+        assertThat(session.isReadOnly(managed.members.get(0))).isFalse();
+        em.clear();
+
+        Result readOnly = measure("read-only", () -> memberJpaRepository.findAll());
+        assertThat(readOnly.members).hasSize(ROWS);
+        assertThat(session.isReadOnly(readOnly.members.get(0))).isTrue();
+        em.clear();
+    }
+
+    private Result measure(String name, Supplier<List<Member>> query) {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+
+        long start = System.nanoTime();
+        List<Member> members = query.get();
+        long queryNanos = System.nanoTime() - start;
+
+        // flush 시 변경 감지 비용 (read-only 엔티티는 스냅샷이 없어 검사 대상이 아님)
+        start = System.nanoTime();
+        em.flush();
+        long flushNanos = System.nanoTime() - start;
+
+        System.gc();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+        System.out.printf("%s: rows=%d, query=%dms, flush=%dms, retained heap=%dMB%n",
+                name, members.size(), queryNanos / 1_000_000, flushNanos / 1_000_000,
+                (heapAfter - heapBefore) / (1024 * 1024));
+        return new Result(members);
+    }
+
+    private record Result(List<Member> members) {
+    }
+
+}
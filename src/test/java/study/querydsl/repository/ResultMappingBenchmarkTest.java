@@ -0,0 +1,107 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 5만 건 검색 결과 매핑 시 QueryDSL 프로젝션과 JDBC 직접 매핑(MemberTeamDtoExtractor)의 행당 할당량 / 지연 시간 비교
+ * ./gradlew benchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.jdbc.batch_size=1000")
+@Transactional
+class ResultMappingBenchmarkTest {
+
+    static final int ROWS = 50_000;
+    static final int ROUNDS = 10;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberTeamJdbcRepository jdbcRepository;
+
+    @BeforeEach
+    public void before() {
+        Team[] teams = new Team[10];
+        for (int i = 0; i < teams.length; i++) {
+            teams[i] = new Team("team" + i);
+            em.persist(teams[i]);
+        }
+        for (int i = 0; i < ROWS; i++) {
+            em.persist(new Member("member" + i, i % 100, teams[i % teams.length]));
+            if (i % 1000 == 999) {
+                em.flush();
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void querydslVsJdbc() {
+        Supplier<List<MemberTeamDto>> querydsl = () -> queryFactory
+                .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .fetch();
+        Supplier<List<MemberTeamDto>> jdbc = () -> jdbcRepository.search(MemberSearchSql.join(new MemberSearchCondition()));
+
+        List<MemberTeamDto> expected = sorted(querydsl.get());
+        assertThat(sorted(jdbc.get())).isEqualTo(expected);
+
+        measure("querydsl", querydsl);
+        measure("jdbc", jdbc);
+    }
+
+    private void measure(String name, Supplier<List<MemberTeamDto>> query) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // 워밍업
+        for (int i = 0; i < ROUNDS; i++) {
+            query.get();
+            em.clear();
+        }
+
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            assertThat(query.get()).hasSize(ROWS);
+            em.clear();
+        }
+        long nanos = (System.nanoTime() - start) / ROUNDS;
+        long bytes = (threads.getThreadAllocatedBytes(threadId) - bytesBefore) / ROUNDS;
+
+        System.out.printf("%s: rows=%d, latency=%dms, allocated=%dKB, per row=%dB%n",
+                name, ROWS, nanos / 1_000_000, bytes / 1024, bytes / ROWS);
+    }
+
+    private List<MemberTeamDto> sorted(List<MemberTeamDto> rows) {
+        return rows.stream().sorted(Comparator.comparing(MemberTeamDto::getMemberId)).toList();
+    }
+
+}
@@ -0,0 +1,105 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import study.querydsl.deadline.Deadline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    public void concurrentCallsShareOneLoad() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<Integer> leader = executor.submit(() -> flight.execute("teamA", () -> {
+                leaderStarted.countDown();
+                await(release);
+                return loads.incrementAndGet();
+            }));
+            leaderStarted.await();
+
+            List<Future<Integer>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> flight.execute("teamA", loads::incrementAndGet)));
+            }
+            // follower 들이 leader 를 기다리는 상태가 될 때까지 대기
+            Thread.sleep(200);
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            for (Future<Integer> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            }
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(flight.inFlightCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failureIsPropagatedAndKeyReleased() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+
+        assertThatThrownBy(() -> flight.execute("teamA", () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(flight.inFlightCount()).isZero();
+        assertThat(flight.execute("teamA", () -> 1)).isEqualTo(1);
+    }
+
+    @Test
+    public void followerStopsWaitingAtItsDeadline() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> leader = executor.submit(() -> flight.execute("teamA", () -> {
+                leaderStarted.countDown();
+                await(release);
+                return 1;
+            }));
+            leaderStarted.await();
+
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> Deadline.after(Duration.ofMillis(100)).run(() -> flight.execute("teamA", () -> 2)))
+                    .isInstanceOf(QueryTimeoutException.class);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000);
+
+            // leader 는 follower 의 기한과 관계없이 끝까지 실행
+            release.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
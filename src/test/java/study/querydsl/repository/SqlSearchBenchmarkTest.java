@@ -0,0 +1,125 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 검색 조건 조합별로 QueryDSL JPA 와 QueryDSL SQL(MemberSqlRepository)의 지연 시간 비교
+ * 결과를 보고 member.search.sql-shapes 에 넣을 조합을 고른다.
+ * ./gradlew benchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.jdbc.batch_size=1000")
+@Transactional
+class SqlSearchBenchmarkTest {
+
+    static final int ROWS = 50_000;
+    static final int ROUNDS = 20;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberSqlRepository sqlRepository;
+
+    @BeforeEach
+    public void before() {
+        Team[] teams = new Team[10];
+        for (int i = 0; i < teams.length; i++) {
+            teams[i] = new Team("team" + i);
+            em.persist(teams[i]);
+        }
+        for (int i = 0; i < ROWS; i++) {
+            em.persist(new Member("member" + i, i % 100, teams[i % teams.length]));
+            if (i % 1000 == 999) {
+                em.flush();
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void jpaVsSqlByShape() {
+        MemberSearchCondition username = new MemberSearchCondition();
+        username.setUsername("member777");
+
+        MemberSearchCondition teamAge = new MemberSearchCondition();
+        teamAge.setTeamName("team3");
+        teamAge.setAgeGoe(20);
+        teamAge.setAgeLoe(40);
+
+        MemberSearchCondition age = new MemberSearchCondition();
+        age.setAgeGoe(90);
+
+        for (MemberSearchCondition condition : List.of(username, teamAge, age, new MemberSearchCondition())) {
+            Supplier<List<MemberTeamDto>> jpa = () -> jpaSearch(condition);
+            Supplier<List<MemberTeamDto>> sql = () -> sqlRepository.search(condition);
+
+            assertThat(sorted(sql.get())).isEqualTo(sorted(jpa.get()));
+
+            long jpaNanos = measure(jpa);
+            long sqlNanos = measure(sql);
+            System.out.printf("%s: rows=%d, jpa=%dus, sql=%dus%n",
+                    condition.shape(), sql.get().size(), jpaNanos / 1000, sqlNanos / 1000);
+        }
+    }
+
+    /**
+     * MemberRepositoryImpl 의 JPA 검색과 같은 쿼리 (single flight, 컬럼 저장소 없이 쿼리 비용만 비교)
+     */
+    private List<MemberTeamDto> jpaSearch(MemberSearchCondition condition) {
+        return queryFactory
+                .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(hasText(condition.getUsername()) ? member.username.eq(condition.getUsername()) : null,
+                        hasText(condition.getTeamName()) ? team.name.eq(condition.getTeamName()) : null,
+                        condition.getAgeGoe() != null ? member.age.goe(condition.getAgeGoe()) : null,
+                        condition.getAgeLoe() != null ? member.age.loe(condition.getAgeLoe()) : null)
+                .fetch();
+    }
+
+    private long measure(Supplier<List<MemberTeamDto>> query) {
+        // 워밍업
+        for (int i = 0; i < ROUNDS; i++) {
+            query.get();
+            em.clear();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            query.get();
+            em.clear();
+        }
+        return (System.nanoTime() - start) / ROUNDS;
+    }
+
+    private List<MemberTeamDto> sorted(List<MemberTeamDto> rows) {
+        return rows.stream().sorted(Comparator.comparing(MemberTeamDto::getMemberId)).toList();
+    }
+
+}
@@ -0,0 +1,98 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.TeamTopMemberDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static com.querydsl.jpa.JPAExpressions.select;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class TeamTopMemberRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    TeamTopMemberRepository teamTopMemberRepository;
+
+    Team teamA;
+    Team teamB;
+
+    @BeforeEach
+    public void before() {
+        teamA = new Team("teamA");
+        teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        // flush 하지 않아도 조회 전에 반영되어야 한다
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamA));
+        em.persist(new Member("member4", 30, teamB));
+        em.persist(new Member("member5", 50, teamB));
+        em.persist(new Member("member6", 30, teamB));
+        em.persist(new Member("member7", 99));
+    }
+
+    @Test
+    public void topMembersPerTeam() {
+        List<TeamTopMemberDto> result = teamTopMemberRepository.findTopMembers(2);
+
+        assertThat(result).extracting("teamName")
+                .containsExactly("teamA", "teamA", "teamB", "teamB");
+        assertThat(result).extracting("username")
+                .containsExactly("member3", "member2", "member5", "member4"); // 나이가 같으면 member_id 순
+        assertThat(result).extracting("rank")
+                .containsExactly(1L, 2L, 1L, 2L);
+        assertThat(result.get(0).getTeamAvgAge()).isCloseTo(20.0, within(0.001));
+        assertThat(result.get(2).getTeamAvgAge()).isCloseTo(110.0 / 3, within(0.001));
+    }
+
+    @Test
+    public void perTeamLargerThanTeam() {
+        List<TeamTopMemberDto> result = teamTopMemberRepository.findTopMembers(10);
+
+        // 팀이 없는 member7 은 제외
+        assertThat(result).hasSize(6);
+        assertThat(result).extracting("username").doesNotContain("member7");
+    }
+
+    /**
+     * 상관 서브쿼리(팀별 최고 나이)로 구한 회원과 1위가 같은지 확인
+     */
+    @Test
+    public void sameAsCorrelatedSubQuery() {
+        QMember memberSub = new QMember("memberSub");
+        List<Member> oldest = queryFactory
+                .selectFrom(member)
+                .where(member.team.isNotNull(),
+                        member.age.eq(select(memberSub.age.max())
+                                .from(memberSub)
+                                .where(memberSub.team.eq(member.team))))
+                .fetch();
+
+        List<TeamTopMemberDto> top = teamTopMemberRepository.findTopMembers(1);
+
+        assertThat(top).extracting("memberId")
+                .containsExactlyInAnyOrderElementsOf(oldest.stream().map(Member::getId).toList());
+    }
+
+}
@@ -0,0 +1,142 @@
+package study.querydsl.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import study.querydsl.deadline.Deadline;
+import study.querydsl.deadline.DeadlineExceededException;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.id.TimeOrderedIdGenerator;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 내장 H2 인스턴스를 샤드로 사용 (기본 3개)
+ */
+class ShardedMemberRepositoryTest {
+
+    ShardedMemberRepository repository;
+    List<Long> teamIds = new ArrayList<>();
+
+    @BeforeEach
+    public void before() {
+        repository = createRepository(3);
+
+        for (int t = 0; t < 6; t++) {
+            teamIds.add(repository.saveTeam("team" + t));
+        }
+        for (int i = 0; i < 60; i++) {
+            repository.saveMember("member" + i, i, teamIds.get(i % 6));
+        }
+        repository.saveMember("noTeam", 100, null);
+    }
+
+    @AfterEach
+    public void after() {
+        repository.close();
+    }
+
+    @Test
+    public void teamNameRoutesToOwningShard() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("team1");
+
+        assertThat(repository.targetShards(condition)).containsExactly(repository.shardOf(teamIds.get(1)));
+
+        List<MemberTeamDto> result = repository.search(condition);
+        assertThat(result).hasSize(10);
+        assertThat(result).extracting("teamName").containsOnly("team1");
+    }
+
+    @Test
+    public void scatterGatherKeepsGlobalOrder() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(10);
+
+        List<MemberTeamDto> result = repository.search(condition);
+
+        assertThat(result).hasSize(51);
+        assertThat(result).extracting("memberId").isSorted();
+    }
+
+    @Test
+    public void pagingAcrossShards() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        List<MemberTeamDto> all = repository.search(condition);
+
+        Page<MemberTeamDto> page = repository.searchPage(condition, PageRequest.of(2, 7));
+
+        assertThat(page.getTotalElements()).isEqualTo(61);
+        assertThat(page.getContent()).isEqualTo(all.subList(14, 21));
+    }
+
+    /**
+     * 서로 다른 밀리초에 만든 시간순 ID (밀리초 내 순번은 0) 가 2의 거듭제곱 샤드 수에서도 고르게 나뉘는지 확인
+     */
+    @Test
+    public void teamsSpreadAcrossPowerOfTwoShards() {
+        for (int shardCount : new int[]{2, 4}) {
+            try (ShardedMemberRepository sharded = createRepository(shardCount)) {
+                int[] counts = new int[shardCount];
+                long millis = System.currentTimeMillis() - 1735689600000L;
+                for (int i = 0; i < 400; i++) {
+                    long teamId = ((millis + i) << 22) | (1L << 12);
+                    counts[sharded.shardOf(teamId)]++;
+                }
+                for (int count : counts) {
+                    assertThat(count).isGreaterThan(400 / shardCount / 2);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void changeTeamMovesMemberToNewShard() {
+        Long from = teamIds.get(0);
+        Long to = teamIds.stream()
+                .filter(teamId -> repository.shardOf(teamId) != repository.shardOf(from))
+                .findFirst()
+                .orElseThrow();
+        long memberId = repository.saveMember("mover", 77, from);
+
+        repository.changeTeam(memberId, to);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("mover");
+        List<MemberTeamDto> result = repository.search(condition);
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getTeamId()).isEqualTo(to);
+        assertThat(result.get(0).getAge()).isEqualTo(77);
+    }
+
+    @Test
+    public void scatterUsesRequestDeadline() {
+        Deadline expired = Deadline.after(Duration.ZERO);
+
+        assertThatThrownBy(() -> expired.run(() -> repository.search(new MemberSearchCondition())))
+                .isInstanceOf(DeadlineExceededException.class);
+    }
+
+    private ShardedMemberRepository createRepository(int shardCount) {
+        List<DataSource> dataSources = new ArrayList<>();
+        String prefix = UUID.randomUUID().toString();
+        for (int i = 0; i < shardCount; i++) {
+            DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + prefix + "-" + i + ";DB_CLOSE_DELAY=-1");
+            ShardingConfig.initSchema(dataSource);
+            dataSources.add(dataSource);
+        }
+        return new ShardedMemberRepository(dataSources, new TimeOrderedIdGenerator(0));
+    }
+
+}
@@ -0,0 +1,71 @@
+package study.querydsl.snapshot;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberSnapshotServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        em.persist(new Member("member1", 10));
+        em.flush();
+    }
+
+    /**
+     * 새 스냅샷은 새 파일로 만들어지고, 이전 파일은 내용이 바뀌지 않은 채 남아 있어야 한다
+     */
+    @Test
+    public void refreshKeepsPreviousVersion() throws Exception {
+        MemberSnapshotService service = new MemberSnapshotService(queryFactory, dir.resolve("members.snap").toString(), 600_000);
+
+        Path first = service.refresh();
+        byte[] firstBytes = Files.readAllBytes(first);
+        em.persist(new Member("member2", 20));
+        em.flush();
+        Path second = service.refresh();
+
+        assertThat(second).isNotEqualTo(first);
+        assertThat(service.getSnapshotFile()).isEqualTo(second);
+        assertThat(Files.readAllBytes(first)).isEqualTo(firstBytes);
+        assertThat(MemberSnapshot.open(second).rowCount()).isEqualTo(MemberSnapshot.open(first).rowCount() + 1);
+
+        // 재시작해도 가장 최근 버전을 사용
+        assertThat(new MemberSnapshotService(queryFactory, dir.resolve("members.snap").toString(), 600_000)
+                .getSnapshotFile()).isEqualTo(second);
+    }
+
+    @Test
+    public void expiredVersionsAreDeleted() throws Exception {
+        MemberSnapshotService service = new MemberSnapshotService(queryFactory, dir.resolve("members.snap").toString(), 0);
+
+        Path first = service.refresh();
+        Path second = service.refresh();
+
+        assertThat(first).doesNotExist();
+        assertThat(second).exists();
+    }
+
+}
@@ -0,0 +1,39 @@
+package study.querydsl.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void writeAndMap() throws Exception {
+        MemberSnapshotWriter writer = new MemberSnapshotWriter();
+        for (int i = 0; i < 3000; i++) {
+            Long teamId = i % 3 == 0 ? null : (long) (i % 2);
+            String teamName = teamId == null ? null : (teamId == 0 ? "teamA" : "teamB");
+            writer.add(i + 1, i % 100, teamId, "member" + i, teamName);
+        }
+        Path file = dir.resolve("members.snap");
+        writer.writeTo(file);
+
+        MemberSnapshot snapshot = MemberSnapshot.open(file);
+
+        assertThat(snapshot.rowCount()).isEqualTo(3000);
+        assertThat(snapshot.memberId(2999)).isEqualTo(3000);
+        assertThat(snapshot.age(150)).isEqualTo(50);
+        assertThat(snapshot.teamId(3)).isNull();
+        assertThat(snapshot.teamId(4)).isEqualTo(0L);
+        assertThat(snapshot.username(8)).isEqualTo("member8");
+        assertThat(snapshot.teamName(4)).isEqualTo("teamA");
+        assertThat(snapshot.teamName(5)).isEqualTo("teamB");
+        assertThat(snapshot.countByAgeBetween(10, 19)).isEqualTo(300);
+    }
+
+}
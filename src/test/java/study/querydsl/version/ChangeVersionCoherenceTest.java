@@ -0,0 +1,198 @@
+package study.querydsl.version;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.QuerydslApplication;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 내장 H2 하나를 공유하는 애플리케이션 컨텍스트 2개를 노드 A, B 로 사용
+ */
+class ChangeVersionCoherenceTest {
+
+    ConfigurableApplicationContext nodeA;
+    ConfigurableApplicationContext nodeB;
+    List<RemoteDataChangedEvent> eventsA = new CopyOnWriteArrayList<>();
+    List<RemoteDataChangedEvent> eventsB = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void before() {
+        String url = "jdbc:h2:mem:coherence-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        nodeA = start(url, "create");
+        nodeB = start(url, "none");
+        nodeA.addApplicationListener(collect(eventsA));
+        nodeB.addApplicationListener(collect(eventsB));
+        // 시작 위치는 기동 시 정해지므로 첫 poll() 전의 변경도 전달된다
+    }
+
+    @AfterEach
+    public void after() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    public void entityChangeReachesOtherNode() {
+        EntityManager em = nodeA.getBean(EntityManager.class);
+        long versionB = nodeB.getBean(DataVersion.class).current();
+
+        Team team = new Team("teamA");
+        Member saved = new Member("member1", 10, team);
+        tx(nodeA).executeWithoutResult(status -> {
+            em.persist(team);
+            em.persist(saved);
+        });
+
+        poll(nodeB);
+
+        assertThat(eventsB).hasSize(1);
+        assertThat(eventsB.get(0).ids(Member.class)).containsExactly(saved.getId());
+        assertThat(eventsB.get(0).ids(Team.class)).containsExactly(team.getId());
+        assertThat(eventsB.get(0).hasBulk()).isFalse();
+        assertThat(nodeB.getBean(DataVersion.class).current()).isGreaterThan(versionB);
+
+        // 자기 변경은 발행하지 않는다
+        poll(nodeA);
+        assertThat(eventsA).isEmpty();
+
+        // 이미 처리한 변경은 다시 발행하지 않는다
+        poll(nodeB);
+        assertThat(eventsB).hasSize(1);
+    }
+
+    @Test
+    public void changesInOneTransactionAreMerged() {
+        EntityManager em = nodeA.getBean(EntityManager.class);
+        Long memberId = tx(nodeA).execute(status -> {
+            Member m = new Member("member1", 10);
+            em.persist(m);
+            return m.getId();
+        });
+        poll(nodeB);
+        eventsB.clear();
+
+        tx(nodeA).executeWithoutResult(status -> {
+            Member m = em.find(Member.class, memberId);
+            m.setAge(20);
+            em.flush();
+            m.setAge(30);
+        });
+        tx(nodeA).executeWithoutResult(status -> em.find(Member.class, memberId).setUsername("renamed"));
+
+        poll(nodeB);
+
+        assertThat(eventsB).hasSize(1);
+        assertThat(eventsB.get(0).ids(Member.class)).containsExactly(memberId);
+    }
+
+    /**
+     * 명시적인 flush 없이 변경 감지로만 바뀐 행도 커밋 시점 flush 에서 기록되어야 한다
+     */
+    @Test
+    public void dirtyCheckedChangeWithoutFlushIsRecorded() {
+        EntityManager em = nodeA.getBean(EntityManager.class);
+        List<Long> ids = tx(nodeA).execute(status -> {
+            Member m1 = new Member("member1", 10);
+            Member m2 = new Member("member2", 20);
+            em.persist(m1);
+            em.persist(m2);
+            return List.of(m1.getId(), m2.getId());
+        });
+        poll(nodeB);
+        eventsB.clear();
+
+        tx(nodeA).executeWithoutResult(status -> em.find(Member.class, ids.get(1)).setAge(21));
+
+        poll(nodeB);
+
+        assertThat(eventsB).hasSize(1);
+        assertThat(eventsB.get(0).ids(Member.class)).containsExactly(ids.get(1));
+    }
+
+    @Test
+    public void bulkUpdateInvalidatesWholeType() {
+        EntityManager em = nodeA.getBean(EntityManager.class);
+        tx(nodeA).executeWithoutResult(status -> em.persist(new Member("member1", 10)));
+        poll(nodeB);
+        eventsB.clear();
+        long bulkVersionB = nodeB.getBean(DataVersion.class).bulkVersion();
+
+        JPAQueryFactory queryFactory = nodeA.getBean(JPAQueryFactory.class);
+        tx(nodeA).executeWithoutResult(status -> queryFactory
+                .update(member)
+                .set(member.age, member.age.add(1))
+                .execute());
+
+        poll(nodeB);
+
+        assertThat(eventsB).hasSize(1);
+        assertThat(eventsB.get(0).isBulk(Member.class)).isTrue();
+        assertThat(eventsB.get(0).isBulk(Team.class)).isFalse();
+        assertThat(nodeB.getBean(DataVersion.class).bulkVersion()).isGreaterThan(bulkVersionB);
+    }
+
+    @Test
+    public void rolledBackChangeIsNotRecorded() {
+        EntityManager em = nodeA.getBean(EntityManager.class);
+        tx(nodeA).executeWithoutResult(status -> {
+            em.persist(new Member("member1", 10));
+            status.setRollbackOnly();
+        });
+
+        poll(nodeB);
+
+        assertThat(eventsB).isEmpty();
+    }
+
+    private ConfigurableApplicationContext start(String url, String ddlAuto) {
+        // application.yml 보다 우선하도록 커맨드라인 인자로 전달
+        return new SpringApplicationBuilder(QuerydslApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--member.coherence.enabled=true",
+                // 스케줄러 대신 테스트에서 직접 poll() 호출
+                "--member.coherence.poll-ms=3600000",
+                "--member.coherence.purge-ms=3600000");
+    }
+
+    private void poll(ConfigurableApplicationContext node) {
+        node.getBean(ChangeVersionPoller.class).poll();
+    }
+
+    private TransactionTemplate tx(ConfigurableApplicationContext node) {
+        return new TransactionTemplate(node.getBean(PlatformTransactionManager.class));
+    }
+
+    private ApplicationListener<ApplicationEvent> collect(List<RemoteDataChangedEvent> events) {
+        return event -> {
+            if (event instanceof PayloadApplicationEvent<?> payload
+                    && payload.getPayload() instanceof RemoteDataChangedEvent changed) {
+                events.add(changed);
+            }
+        };
+    }
+
+}
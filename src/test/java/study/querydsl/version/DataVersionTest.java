@@ -0,0 +1,56 @@
+package study.querydsl.version;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class DataVersionTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    DataVersion dataVersion;
+
+    @Test
+    public void persistBumpsVersion() {
+        long before = dataVersion.current();
+
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+
+        assertThat(dataVersion.current()).isGreaterThan(before);
+    }
+
+    @Test
+    public void bulkExecuteBumpsVersion() {
+        em.persist(new Member("member1", 10));
+        em.flush();
+        long before = dataVersion.current();
+        long bulkBefore = dataVersion.bulkVersion();
+
+        long count = queryFactory
+                .update(member)
+                .set(member.age, member.age.add(1))
+                .execute();
+
+        assertThat(count).isEqualTo(1);
+        assertThat(dataVersion.current()).isGreaterThan(before);
+        assertThat(dataVersion.bulkVersion()).isGreaterThan(bulkBefore);
+    }
+
+}
@@ -0,0 +1,147 @@
+package study.querydsl.writebehind;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.version.DataVersion;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * flush 는 스케줄러 대신 직접 호출, 각 flush 가 별도 트랜잭션으로 커밋되므로 테스트 데이터는 직접 정리
+ */
+@SpringBootTest(properties = {
+        "member.write-behind.enabled=true",
+        "member.write-behind.flush-ms=3600000",
+        "member.write-behind.durability=journal",
+        "member.write-behind.journal-dir=build/tmp/write-behind-test"
+})
+class MemberWriteBehindTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberWriteBehind writeBehind;
+
+    @Autowired
+    DataVersion dataVersion;
+
+    TransactionTemplate tx;
+    Long teamA;
+    Long teamB;
+    Long member1;
+    Long member2;
+
+    @BeforeEach
+    public void before() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team a = new Team("teamA");
+            Team b = new Team("teamB");
+            em.persist(a);
+            em.persist(b);
+            Member m1 = new Member("member1", 10, a);
+            Member m2 = new Member("member2", 20, a);
+            em.persist(m1);
+            em.persist(m2);
+            teamA = a.getId();
+            teamB = b.getId();
+            member1 = m1.getId();
+            member2 = m2.getId();
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        writeBehind.flush();
+        tx.executeWithoutResult(status -> {
+            // 공유 테스트 DB 이므로 이 테스트가 만든 행만 삭제
+            em.createQuery("delete from Member m where m.id in :ids")
+                    .setParameter("ids", List.of(member1, member2))
+                    .executeUpdate();
+            em.createQuery("delete from Team t where t.id in :ids")
+                    .setParameter("ids", List.of(teamA, teamB))
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    public void coalesceAndFlush() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 1; i <= 1000; i++) {
+                    writeBehind.updateAge(member1, i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        writeBehind.updateAge(member2, 99);
+        writeBehind.changeTeam(member2, teamB);
+        writeBehind.changeTeam(member1, null);
+        writeBehind.updateAge(member1, 1000);
+
+        // 반영 전에는 DB 에 이전 값
+        assertThat(writeBehind.pendingCount()).isEqualTo(2);
+        assertThat(find(member1).getAge()).isEqualTo(10);
+
+        writeBehind.flush();
+
+        assertThat(writeBehind.pendingCount()).isZero();
+        tx.executeWithoutResult(status -> {
+            Member m1 = em.find(Member.class, member1);
+            Member m2 = em.find(Member.class, member2);
+            assertThat(m1.getAge()).isEqualTo(1000);
+            assertThat(m1.getTeam()).isNull();
+            assertThat(m2.getAge()).isEqualTo(99);
+            assertThat(m2.getTeam().getId()).isEqualTo(teamB);
+        });
+    }
+
+    /**
+     * 바뀐 회원만 변경으로 기록하고 회원 전체 변경(bulkVersion)으로 만들지 않는다
+     */
+    @Test
+    public void flushRecordsOnlyChangedMembers() {
+        long version = dataVersion.current();
+        long bulkVersion = dataVersion.bulkVersion();
+
+        writeBehind.updateAge(member1, 11);
+        writeBehind.flush();
+
+        assertThat(dataVersion.current()).isGreaterThan(version);
+        assertThat(dataVersion.bulkVersion()).isEqualTo(bulkVersion);
+        assertThat(find(member1).getAge()).isEqualTo(11);
+    }
+
+    @Test
+    public void flushWithNothingPending() {
+        writeBehind.flush();
+
+        assertThat(writeBehind.pendingCount()).isZero();
+        assertThat(find(member1).getAge()).isEqualTo(10);
+    }
+
+    private Member find(Long id) {
+        return tx.execute(status -> em.find(Member.class, id));
+    }
+
+}
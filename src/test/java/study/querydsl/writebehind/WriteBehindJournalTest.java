@@ -0,0 +1,108 @@
+package study.querydsl.writebehind;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteBehindJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void recoverAfterRestart() throws Exception {
+        WriteBehindJournal journal = new WriteBehindJournal(dir);
+        journal.append(1L, MemberUpdate.AGE, 10L);
+        Path sealed = journal.rotate();
+        journal.append(2L, MemberUpdate.TEAM, 100L);
+        journal.append(1L, MemberUpdate.TEAM, null);
+        // close() 없이 종료된 것처럼 새로 연다
+
+        WriteBehindJournal reopened = new WriteBehindJournal(dir);
+        List<Path> files = reopened.sealedFiles();
+
+        assertThat(files).hasSize(2);
+        assertThat(files.get(0)).isEqualTo(sealed);
+        assertThat(readAll(files)).containsExactly("1:1:10", "2:2:100", "1:2:null");
+        reopened.close();
+    }
+
+    @Test
+    public void ignoreTornRecord() throws Exception {
+        WriteBehindJournal journal = new WriteBehindJournal(dir);
+        journal.append(1L, MemberUpdate.AGE, 10L);
+        Path file = journal.rotate();
+        journal.close();
+
+        // 레코드를 쓰는 도중에 종료된 경우
+        Files.write(file, new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+
+        assertThat(readAll(List.of(file))).containsExactly("1:1:10");
+    }
+
+    @Test
+    public void deleteFlushedFiles() throws Exception {
+        WriteBehindJournal journal = new WriteBehindJournal(dir);
+        journal.append(1L, MemberUpdate.AGE, 10L);
+        Path sealed = journal.rotate();
+
+        WriteBehindJournal.delete(List.of(sealed));
+        journal.close();
+
+        assertThat(new WriteBehindJournal(dir).sealedFiles()).isEmpty();
+    }
+
+    @Test
+    public void concurrentAppendsAreAllWritten() throws Exception {
+        WriteBehindJournal journal = new WriteBehindJournal(dir);
+        int threads = 8;
+        int perThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long memberId = t + 1;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    journal.append(memberId, MemberUpdate.AGE, (long) i);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        Path sealed = journal.rotate();
+        journal.close();
+
+        List<String> records = readAll(List.of(sealed));
+        assertThat(records).hasSize(threads * perThread);
+        // 스레드마다 추가한 순서는 유지된다
+        for (int t = 1; t <= threads; t++) {
+            String prefix = t + ":";
+            assertThat(records.stream().filter(r -> r.startsWith(prefix)).toList())
+                    .containsExactlyElementsOf(IntStream.range(0, perThread)
+                            .mapToObj(i -> prefix + MemberUpdate.AGE + ":" + i).toList());
+        }
+    }
+
+    private List<String> readAll(List<Path> files) throws Exception {
+        List<String> records = new ArrayList<>();
+        for (Path file : files) {
+            WriteBehindJournal.read(file, (memberId, kind, value) -> records.add(memberId + ":" + kind + ":" + value));
+        }
+        return records;
+    }
+
+}